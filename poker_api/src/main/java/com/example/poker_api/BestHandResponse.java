@@ -0,0 +1,89 @@
+package com.example.poker_api;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandRank;
+
+/**
+ * Class to represent the server response
+ * Holds the best hand calculated from a poker hand as its strength and
+ * the cards it uses. The category, ordinal rank and text are worked out
+ * from those when they are read, and the text is only built the first
+ * time it is asked for
+ * 
+ * @author Tristan Curtis (tmc3221)
+ */
+@JsonPropertyOrder({ "bestHand", "category", "rank", "cards" })
+public class BestHandResponse {
+
+    /** The strength of the best hand */
+    private final int strength;
+
+    /** The set of cards the best hand is made from */
+    private final long usedCards;
+
+    /** The suit of the flush, or -1 */
+    private final int flushSuit;
+
+    /** The text of the best hand, built when first asked for */
+    private String bestHand;
+
+    /**
+     * Constructs a BestHandResponse from a set of cards
+     * @param cards the set of cards in the hand
+     * @param strength the strength of the cards, as returned by BitmaskEvaluator
+     */
+    public BestHandResponse(long cards, int strength) {
+        this.strength = strength;
+        this.usedCards = BitmaskEvaluator.usedCards(cards, strength);
+        this.flushSuit = BitmaskEvaluator.flushSuit(cards);
+    }
+
+    /**
+     * Method to get the category of the best hand
+     * @return the category of the best hand
+     */
+    public HandCategory getCategory() {
+        return BitmaskEvaluator.category(strength);
+    }
+
+    /**
+     * Method to get the ordinal rank of the best hand
+     * Ranks can be compared directly, higher beats lower
+     * @return the rank from 1 (seven high) to 7462 (a royal flush)
+     */
+    public int getRank() {
+        return HandRank.ordinal(strength);
+    }
+
+    /**
+     * Method to get the cards the best hand is made from
+     * @return the text of the cards, at most five, from the highest rank down
+     */
+    public String[] getCards() {
+        String[] cards = new String[Long.bitCount(usedCards)];
+        int i = 0;
+        for (int rank = Cards.RANKS - 1; rank >= 0; rank--) {
+            for (int suit = Cards.SUITS - 1; suit >= 0; suit--) {
+                if ((usedCards & 1L << Cards.code(rank, suit)) != 0) {
+                    cards[i++] = Cards.toString(Cards.code(rank, suit));
+                }
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Method to get the best hand
+     * @return the best hand such as "Pair of two: K"
+     */
+    public String getBestHand() {
+        if (bestHand == null) {
+            bestHand = BitmaskEvaluator.describe(strength, flushSuit);
+        }
+        return bestHand;
+    }
+}
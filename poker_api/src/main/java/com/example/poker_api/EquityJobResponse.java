@@ -0,0 +1,89 @@
+package com.example.poker_api;
+
+import com.example.poker_api.equity.EquityJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Class to represent the server response for an equity job
+ * Holds the state of the job and its latest estimate
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EquityJobResponse {
+
+    /** The id of the job */
+    private final String id;
+
+    /** The state of the job */
+    private final EquityJob.Status status;
+
+    /** The number of runouts the job deals */
+    private final long target;
+
+    /** The latest estimate of the job */
+    private final EquityResponse estimate;
+
+    /** The error that stopped the job, or null if it did not fail */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String error;
+
+    /**
+     * Constructs the response from the current state of a job
+     * @param job the job we are responding with
+     */
+    public EquityJobResponse(EquityJob job) {
+        this.estimate = job.getEstimate();
+        this.status = job.getStatus();
+        this.id = job.getId();
+        this.target = job.getIterations();
+        this.error = job.getError();
+    }
+
+    /**
+     * Method to get the id of the job
+     * @return the id of the job
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the state of the job
+     * @return the state of the job
+     */
+    public EquityJob.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Method to get the number of runouts the job deals
+     * @return the number of runouts asked for
+     */
+    public long getTarget() {
+        return target;
+    }
+
+    /**
+     * Method to get how far the job has got
+     * @return the share of the runouts dealt so far, from 0 to 1
+     */
+    public double getProgress() {
+        return (double) estimate.getIterations() / target;
+    }
+
+    /**
+     * Method to get the latest estimate of the job
+     * @return the estimate as of the last finished batch
+     */
+    public EquityResponse getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Method to get the error that stopped the job
+     * @return the message of the error, or null if the job did not fail
+     */
+    public String getError() {
+        return error;
+    }
+}
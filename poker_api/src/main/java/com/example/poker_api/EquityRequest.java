@@ -0,0 +1,178 @@
+package com.example.poker_api;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.poker_api.equity.EquitySimulation;
+import com.example.poker_api.equity.SamplerType;
+import com.example.poker_api.equity.StopRule;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to represent an equity request
+ * Holds the board and hole cards of a showdown along with the
+ * number of random runouts to deal. Giving an epsilon or a time budget
+ * lets the simulation stop early, with the iterations as the most to deal,
+ * and the sampler picks how the runouts are chosen
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EquityRequest extends ShowdownRequest {
+
+    /** The number of hole cards each player holds */
+    public static final int HOLE_CARDS = 2;
+
+    /** The number of runouts dealt when none is given */
+    public static final int DEFAULT_ITERATIONS = 100_000;
+
+    /** The most runouts a request answered right away can ask for */
+    public static final int MAX_ITERATIONS = 10_000_000;
+
+    /** The most runouts a background job can ask for */
+    public static final int MAX_JOB_ITERATIONS = 1_000_000_000;
+
+    /** The number of runouts to deal */
+    private int iterations = DEFAULT_ITERATIONS;
+
+    /** The target half width of the 95% confidence interval, 0 for none */
+    private double epsilon;
+
+    /** The time budget in milliseconds, 0 for none */
+    private long timeBudgetMs;
+
+    /** The way runouts are chosen */
+    private SamplerType sampler = SamplerType.UNIFORM;
+
+    /**
+     * Method to get the number of runouts to deal
+     * @return the number of runouts
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the number of runouts to deal
+     * @param iterations the number of runouts
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Method to get and check the number of runouts to deal
+     * @param max the most runouts that can be asked for
+     * @return the number of runouts
+     * @throws RequestLimitException if the number is not from 1 to the maximum
+     */
+    public int iterations(int max) {
+        if (iterations < 1 || iterations > max) {
+            throw new RequestLimitException("Iterations must be from 1 to " + max);
+        }
+        return iterations;
+    }
+
+    /**
+     * Method to get the target precision
+     * @return the target half width of the 95% confidence interval, 0 for none
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Sets the target precision
+     * @param epsilon the target half width of the 95% confidence interval, 0 for none
+     */
+    public void setEpsilon(double epsilon) {
+        this.epsilon = epsilon;
+    }
+
+    /**
+     * Method to get the time budget
+     * @return the time budget in milliseconds, 0 for none
+     */
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    /**
+     * Sets the time budget
+     * @param timeBudgetMs the time budget in milliseconds, 0 for none
+     */
+    public void setTimeBudgetMs(long timeBudgetMs) {
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    /**
+     * Method to get the way runouts are chosen
+     * @return the type of sampler
+     */
+    public SamplerType getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Sets the way runouts are chosen
+     * @param sampler the type of sampler
+     */
+    public void setSampler(SamplerType sampler) {
+        this.sampler = sampler;
+    }
+
+    /**
+     * Method to get and check the rule that decides when to stop
+     * @param max the most runouts that can be asked for
+     * @return the stop rule of the request
+     * @throws RequestLimitException if the iterations are not from 1 to the
+     * maximum, or the epsilon or time budget is negative
+     */
+    public StopRule stopRule(int max) {
+        if (epsilon < 0 || timeBudgetMs < 0) {
+            throw new RequestLimitException("Epsilon and time budget cannot be negative");
+        }
+        return new StopRule(iterations(max), epsilon, TimeUnit.MILLISECONDS.toNanos(timeBudgetMs));
+    }
+
+    /**
+     * Method to get and check the set of hole cards of each player
+     * On top of the checks of a showdown, every player holds exactly two
+     * hole cards, the board holds at most five cards and enough cards are
+     * left to deal the rest of the board
+     * @return the set of hole cards of each player
+     * @throws IllegalArgumentException if the cards can not be dealt out to a full board
+     */
+    @Override
+    public long[] holeCardMasks() {
+        long board = boardMask();
+        if (Long.bitCount(board) > EquitySimulation.BOARD_CARDS) {
+            throw new IllegalArgumentException("A board holds at most " + EquitySimulation.BOARD_CARDS + " cards");
+        }
+        long[] holeCards = super.holeCardMasks();
+        long dealt = board;
+        for (int i = 0; i < holeCards.length; i++) {
+            if (Long.bitCount(holeCards[i]) != HOLE_CARDS) {
+                throw new IllegalArgumentException("Player " + i + " must hold exactly " + HOLE_CARDS + " hole cards");
+            }
+            dealt |= holeCards[i];
+        }
+        if (Cards.DECK_SIZE - Long.bitCount(dealt) < EquitySimulation.BOARD_CARDS - Long.bitCount(board)) {
+            throw new IllegalArgumentException("Not enough cards are left to deal the board");
+        }
+        return holeCards;
+    }
+
+    /**
+     * Method to get the canonical key of the request
+     * Requests with the same cards, in any order within each hand,
+     * and the same stopping options have the same key
+     * @return the key of the request
+     */
+    public String key() {
+        StringBuilder key = new StringBuilder(Long.toHexString(boardMask()));
+        for (long cards : holeCardMasks()) {
+            key.append('/').append(Long.toHexString(cards));
+        }
+        return key.append('x').append(iterations).append('e').append(epsilon)
+                .append('t').append(timeBudgetMs).append(sampler).toString();
+    }
+}
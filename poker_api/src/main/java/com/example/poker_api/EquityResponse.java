@@ -0,0 +1,176 @@
+package com.example.poker_api;
+
+import com.example.poker_api.equity.EquitySimulation;
+import com.example.poker_api.equity.SamplerType;
+import com.example.poker_api.equity.StopRule;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Class to represent the server response for an equity calculation
+ * Holds the estimated equity of each player, how precise it is and
+ * why the simulation stopped
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EquityResponse {
+
+    /** The number of runouts dealt */
+    private final long iterations;
+
+    /** The number of uniformly random runouts that would be as precise */
+    private final long effectiveSamples;
+
+    /** The way runouts were chosen */
+    private final SamplerType sampler;
+
+    /** The half width of the widest 95% confidence interval of the equities */
+    private final double error;
+
+    /** The reason the simulation stopped, or null while it is running */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final StopRule.Reason stoppedBy;
+
+    /** The result of each player, in the order of the request */
+    private final PlayerEquity[] players;
+
+    /**
+     * Constructs the response from the current state of a running simulation
+     * @param simulation the simulation we are responding with
+     */
+    public EquityResponse(EquitySimulation simulation) {
+        this(simulation, null);
+    }
+
+    /**
+     * Constructs the response from the state of a simulation
+     * @param simulation the simulation we are responding with
+     * @param stoppedBy the reason the simulation stopped, or null while it is running
+     */
+    public EquityResponse(EquitySimulation simulation, StopRule.Reason stoppedBy) {
+        this.stoppedBy = stoppedBy;
+        error = simulation.getHalfWidth();
+        effectiveSamples = simulation.getEffectiveSamples();
+        sampler = simulation.getSamplerType();
+        iterations = simulation.getTrials();
+        players = new PlayerEquity[simulation.getPlayers()];
+        for (int p = 0; p < players.length; p++) {
+            players[p] = new PlayerEquity(simulation.getEquity(p), simulation.getStandardError(p),
+                    simulation.getWins(p), simulation.getTies(p));
+        }
+    }
+
+    /**
+     * Method to get the number of runouts dealt
+     * @return the number of runouts
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Method to get the way runouts were chosen
+     * @return the type of sampler
+     */
+    public SamplerType getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Method to get the effective sample size
+     * Above the iterations when the sampler does better than plain Monte Carlo
+     * @return the number of uniformly random runouts that would be as precise
+     */
+    public long getEffectiveSamples() {
+        return effectiveSamples;
+    }
+
+    /**
+     * Method to get the achieved error of the equities
+     * @return the half width of the widest 95% confidence interval
+     */
+    public double getError() {
+        return error;
+    }
+
+    /**
+     * Method to get the reason the simulation stopped
+     * @return the reason, or null while it is running
+     */
+    public StopRule.Reason getStoppedBy() {
+        return stoppedBy;
+    }
+
+    /**
+     * Method to get the result of each player
+     * @return the result of each player, in the order of the request
+     */
+    public PlayerEquity[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * Inner class to represent the equity of one player
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    public static class PlayerEquity {
+
+        /** The estimated share of the pot */
+        private final double equity;
+
+        /** The standard error of the estimate */
+        private final double standardError;
+
+        /** The number of runouts won outright */
+        private final long wins;
+
+        /** The number of runouts tied for the win */
+        private final long ties;
+
+        /**
+         * Constructs the equity of a player
+         * @param equity the estimated share of the pot
+         * @param standardError the standard error of the estimate
+         * @param wins the number of runouts won outright
+         * @param ties the number of runouts tied for the win
+         */
+        public PlayerEquity(double equity, double standardError, long wins, long ties) {
+            this.equity = equity;
+            this.standardError = standardError;
+            this.wins = wins;
+            this.ties = ties;
+        }
+
+        /**
+         * Method to get the estimated share of the pot
+         * @return the equity from 0 to 1
+         */
+        public double getEquity() {
+            return equity;
+        }
+
+        /**
+         * Method to get the standard error of the estimate
+         * @return the standard error
+         */
+        public double getStandardError() {
+            return standardError;
+        }
+
+        /**
+         * Method to get the number of runouts won outright
+         * @return the number of wins
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * Method to get the number of runouts tied for the win
+         * @return the number of ties
+         */
+        public long getTies() {
+            return ties;
+        }
+    }
+}
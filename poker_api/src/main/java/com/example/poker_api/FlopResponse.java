@@ -0,0 +1,221 @@
+package com.example.poker_api;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandRank;
+import com.example.poker_api.flop.FlopStats;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Class to represent the server response for the analytics of a flop
+ * Holds the texture of the flop, its nuts and how many pairs of hole
+ * cards make each category of hand on it
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@JsonPropertyOrder({ "flop", "canonical", "weight", "suits", "pairing", "straightPossible", "flushPossible",
+        "nuts", "nutCategory", "nutRank", "nutCombos", "categories" })
+public class FlopResponse {
+
+    /**
+     * Enum of how many suits a flop has
+     */
+    public enum Suits {
+
+        /** All three cards share a suit */
+        MONOTONE,
+
+        /** Two cards share a suit */
+        TWO_TONE,
+
+        /** Every card has its own suit */
+        RAINBOW
+    }
+
+    /**
+     * Enum of how many ranks a flop repeats
+     */
+    public enum Pairing {
+
+        /** Three of a kind on the flop */
+        TRIPS,
+
+        /** Two cards share a rank */
+        PAIRED,
+
+        /** Every card has its own rank */
+        UNPAIRED
+    }
+
+    /** The cards of the flop */
+    private final String[] flop;
+
+    /** The cards of the flop in its first suits */
+    private final String[] canonical;
+
+    /** The number of flops that are the same up to renaming the suits */
+    private final int weight;
+
+    /** How many suits the flop has */
+    private final Suits suits;
+
+    /** How many ranks the flop repeats */
+    private final Pairing pairing;
+
+    /** Whether two hole cards can make a straight */
+    private final boolean straightPossible;
+
+    /** The text of the nuts */
+    private final String nuts;
+
+    /** The category of the nuts */
+    private final HandCategory nutCategory;
+
+    /** The ordinal rank of the nuts */
+    private final int nutRank;
+
+    /** The number of pairs of hole cards that make the nuts */
+    private final int nutCombos;
+
+    /** The number of pairs of hole cards that make each category */
+    private final Map<HandCategory, Integer> categories = new EnumMap<>(HandCategory.class);
+
+    /**
+     * Constructs the response from the stored stats of a flop
+     * @param flop the set of cards of the flop that was asked for
+     * @param stats the stats of the flop
+     */
+    public FlopResponse(long flop, FlopStats stats) {
+        this.flop = names(flop);
+        this.canonical = names(stats.getCanonical());
+        this.weight = stats.getWeight();
+        this.suits = Suits.values()[stats.getSuits() - 1];
+        this.pairing = Pairing.values()[stats.getRanks() - 1];
+        this.straightPossible = stats.isStraightPossible();
+        // The nuts are stored for the canonical flop, so a flush is named in this flop's suit
+        int flushSuit = stats.getSuits() == 1 ? Cards.suit(Long.numberOfTrailingZeros(flop)) : -1;
+        this.nuts = BitmaskEvaluator.describe(stats.getNutStrength(), flushSuit);
+        this.nutCategory = BitmaskEvaluator.category(stats.getNutStrength());
+        this.nutRank = HandRank.ordinal(stats.getNutStrength());
+        this.nutCombos = stats.getNutCombos();
+        for (HandCategory category : HandCategory.values()) {
+            int count = stats.getCategoryCount(category);
+            if (count > 0) {
+                categories.put(category, count);
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the text of each card in a set
+     * @param cards the set of cards
+     * @return the text of each card, from the lowest code to the highest
+     */
+    private static String[] names(long cards) {
+        String[] names = new String[Long.bitCount(cards)];
+        for (int i = 0; cards != 0; i++, cards &= cards - 1) {
+            names[i] = Cards.toString(Long.numberOfTrailingZeros(cards));
+        }
+        return names;
+    }
+
+    /**
+     * Method to get the cards of the flop
+     * @return the cards of the flop
+     */
+    public String[] getFlop() {
+        return flop;
+    }
+
+    /**
+     * Method to get the flop in its first suits
+     * @return the cards of the canonical flop
+     */
+    public String[] getCanonical() {
+        return canonical;
+    }
+
+    /**
+     * Method to get how many flops share these stats
+     * @return the number of flops out of 22,100 that are the same up to renaming the suits
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Method to get how many suits the flop has
+     * @return monotone, two tone or rainbow
+     */
+    public Suits getSuits() {
+        return suits;
+    }
+
+    /**
+     * Method to get how many ranks the flop repeats
+     * @return trips, paired or unpaired
+     */
+    public Pairing getPairing() {
+        return pairing;
+    }
+
+    /**
+     * Method to check whether two hole cards can make a straight
+     * @return true if a straight is possible
+     */
+    public boolean isStraightPossible() {
+        return straightPossible;
+    }
+
+    /**
+     * Method to check whether two hole cards can make a flush
+     * @return true if the flop is monotone or two tone
+     */
+    public boolean isFlushPossible() {
+        return suits != Suits.RAINBOW;
+    }
+
+    /**
+     * Method to get the text of the nuts
+     * @return the best hand any two hole cards make
+     */
+    public String getNuts() {
+        return nuts;
+    }
+
+    /**
+     * Method to get the category of the nuts
+     * @return the category of the best hand
+     */
+    public HandCategory getNutCategory() {
+        return nutCategory;
+    }
+
+    /**
+     * Method to get the ordinal rank of the nuts
+     * @return the rank from 1 (weakest) to 7462 (a royal flush)
+     */
+    public int getNutRank() {
+        return nutRank;
+    }
+
+    /**
+     * Method to get the number of pairs of hole cards that make the nuts
+     * @return the number of nut combos
+     */
+    public int getNutCombos() {
+        return nutCombos;
+    }
+
+    /**
+     * Method to get how many pairs of hole cards make each category
+     * @return the number of the 1,176 pairs of hole cards making each category
+     */
+    public Map<HandCategory, Integer> getCategories() {
+        return categories;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.poker_api;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandRank;
+import com.example.poker_api.eval.Nuts;
+
+/**
+ * Class to represent the server response for the nuts of a board
+ * Holds the best hand any player can make on the board and every
+ * pair of hole cards that makes it
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class NutsResponse {
+
+    /** The text of the nuts */
+    private final String bestHand;
+
+    /** The category of the nuts */
+    private final HandCategory category;
+
+    /** The ordinal rank of the nuts */
+    private final int rank;
+
+    /** Each pair of hole cards that makes the nuts, such as "AhKh" */
+    private final String[] holdings;
+
+    /**
+     * Constructs the nuts response of a board
+     * @param board the set of cards on the board
+     */
+    public NutsResponse(long board) {
+        int strength = Nuts.strength(board);
+        long[] holes = Nuts.holdings(board, strength);
+        this.bestHand = BitmaskEvaluator.describe(strength, BitmaskEvaluator.flushSuit(board | holes[0]));
+        this.category = BitmaskEvaluator.category(strength);
+        this.rank = HandRank.ordinal(strength);
+        this.holdings = new String[holes.length];
+        for (int i = 0; i < holes.length; i++) {
+            int high = 63 - Long.numberOfLeadingZeros(holes[i]);
+            int low = Long.numberOfTrailingZeros(holes[i]);
+            holdings[i] = Cards.toString(high) + Cards.toString(low);
+        }
+    }
+
+    /**
+     * Method to get the text of the nuts
+     * @return the best hand on the board
+     */
+    public String getBestHand() {
+        return bestHand;
+    }
+
+    /**
+     * Method to get the category of the nuts
+     * @return the category of the best hand
+     */
+    public HandCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Method to get the ordinal rank of the nuts
+     * @return the rank from 1 to 7462
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Method to get every pair of hole cards that makes the nuts
+     * @return the pairs of hole cards
+     */
+    public String[] getHoldings() {
+        return holdings;
+    }
+}
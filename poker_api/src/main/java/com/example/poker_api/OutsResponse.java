@@ -0,0 +1,79 @@
+package com.example.poker_api;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.Outs;
+
+/**
+ * Class to represent the server response for the outs of a hand
+ * Holds the best hand so far, the number of unseen cards that improve
+ * it to each category on the next street, and those cards
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class OutsResponse {
+
+    /** The best hand of the cards so far */
+    private final String bestHand;
+
+    /** The number of outs to each category, only categories with outs are held */
+    private final Map<HandCategory, Integer> outs = new EnumMap<>(HandCategory.class);
+
+    /** The unseen cards that improve the hand */
+    private final String[] cards;
+
+    /**
+     * Constructs the outs response of a set of cards
+     * @param hand the set of cards in the hand
+     */
+    public OutsResponse(long hand) {
+        this.bestHand = BitmaskEvaluator.describe(hand);
+        int[] counts = new int[HandCategory.values().length];
+        long improving = Outs.improving(hand, counts);
+        for (HandCategory category : HandCategory.values()) {
+            if (counts[category.ordinal()] > 0) {
+                outs.put(category, counts[category.ordinal()]);
+            }
+        }
+        this.cards = new String[Long.bitCount(improving)];
+        for (int i = 0; improving != 0; i++, improving &= improving - 1) {
+            cards[i] = Cards.toString(Long.numberOfTrailingZeros(improving));
+        }
+    }
+
+    /**
+     * Method to get the best hand of the cards so far
+     * @return the best hand
+     */
+    public String getBestHand() {
+        return bestHand;
+    }
+
+    /**
+     * Method to get the number of outs to each category
+     * @return the number of outs by category
+     */
+    public Map<HandCategory, Integer> getOuts() {
+        return outs;
+    }
+
+    /**
+     * Method to get the total number of outs
+     * @return the number of unseen cards that improve the hand
+     */
+    public int getTotal() {
+        return cards.length;
+    }
+
+    /**
+     * Method to get the unseen cards that improve the hand
+     * @return the text of the improving cards
+     */
+    public String[] getCards() {
+        return cards;
+    }
+}
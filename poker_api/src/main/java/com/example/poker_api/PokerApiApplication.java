@@ -3,9 +3,26 @@ package com.example.poker_api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import com.example.poker_api.cli.BulkEvaluator;
+import com.example.poker_api.cli.EvaluatorCrossCheck;
+import com.example.poker_api.cli.HandDistribution;
+import com.example.poker_api.cli.Options;
+import com.example.poker_api.cluster.Coordinator;
+import com.example.poker_api.cluster.Worker;
+import com.example.poker_api.preflop.PreflopTableGenerator;
+import com.example.poker_api.server.EvaluationServer;
+
 /**
  * Main class for the Spring Boot application
- * Starts the Poker API application
+ * Starts the Poker API application, or one of the lightweight
+ * modes chosen with --mode= that run without Spring:
+ * nio runs the binary evaluation server
+ * bulk evaluates a memory mapped file of packed hands
+ * coordinator splits an equity computation over worker processes
+ * worker runs the shards a coordinator sends it
+ * preflop-table writes the table of preflop equities between starting hands
+ * distribution counts the categories of every hand of five to seven cards
+ * cross-check checks the fast evaluators against the reference evaluator
  * 
  * @author Tristan Curtis (tmc3221)
  */
@@ -15,8 +32,20 @@ public class PokerApiApplication {
     /**
      * Main method to start the Spring Boot application
      * @param args the arguments passed to the application
+     * @throws Exception if a command line mode fails
      */
-    public static void main(String[] args) {
-        SpringApplication.run(PokerApiApplication.class, args);
+    public static void main(String[] args) throws Exception {
+        String mode = new Options(args).get("mode", "web");
+        switch (mode) {
+            case "nio" -> EvaluationServer.run(args);
+            case "bulk" -> BulkEvaluator.run(args);
+            case "coordinator" -> Coordinator.run(args);
+            case "worker" -> Worker.run(args);
+            case "preflop-table" -> PreflopTableGenerator.run(args);
+            case "distribution" -> HandDistribution.run(args);
+            case "cross-check" -> EvaluatorCrossCheck.run(args);
+            case "web" -> SpringApplication.run(PokerApiApplication.class, args);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
     }
 }
@@ -1,402 +1,491 @@
 package com.example.poker_api;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
-
-import com.example.poker_api.dsa.list.ArrayBasedList;
-import com.example.poker_api.dsa.list.List;
-import com.example.poker_api.dsa.map.LinearProbingHashMap;
-import com.example.poker_api.dsa.map.Map;
-import com.example.poker_api.dsa.map.Map.Entry;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.poker_api.concurrent.SingleFlight;
+import com.example.poker_api.equity.EquityJob;
+import com.example.poker_api.equity.EquityJobService;
+import com.example.poker_api.equity.EquitySimulation;
+import com.example.poker_api.equity.StopRule;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandEvaluator;
+import com.example.poker_api.flop.FlopDatabase;
+import com.example.poker_api.metrics.PokerMetrics;
+import com.example.poker_api.preflop.PreflopTable;
+import com.example.poker_api.preflop.StartingHands;
+import com.example.poker_api.protocol.BinaryHands;
+import com.example.poker_api.protocol.EncodedResults;
+import com.example.poker_api.range.HandRange;
+import com.example.poker_api.range.RangeEquity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Controller class for the Poker API
  * Handles requests to the API and returns responses
  * Helps return data for the Poker API
+ * Only used when running on the servlet stack, the reactive
+ * profile serves the same endpoints from ReactivePokerController
  * 
  * @author Tristan Curtis (tmc3221)
  */
-// TODO: Need to update the flush and consectuive logic to check
-// for best hand without knowing other
-// ie: if there is 5 6 7 on the board, asssume that someone has 8 9
 @RestController
 @RequestMapping("/api/poker")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class PokerController {
 
-    /** Holds the calculated nuts value as a String */
-    private static String nuts = null;
+    /** The largest binary batch body that is accepted */
+    private static final int MAX_BINARY_BATCH_BYTES = 8 * 1024 * 1024;
+
+    /** The number of runouts dealt between precision checks */
+    private static final int EQUITY_BATCH_SIZE = 10_000;
+
+    /** Evaluates the hands of the best hand endpoints */
+    private final HandEvaluator evaluator;
+
+    /** Records the latency, categories and failures of the requests */
+    private final PokerMetrics metrics;
+
+    /** Runs the equity jobs in the background */
+    private final EquityJobService equityJobs;
+
+    /** The precomputed preflop equities between classes of starting hands */
+    private final PreflopTable preflopTable;
+
+    /** The precomputed stats of every flop */
+    private final FlopDatabase flopDatabase;
+
+    /** The nuts calculations in progress, by board */
+    private final SingleFlight<Long, NutsResponse> nutsFlight = new SingleFlight<>();
 
-    /** Holds the suit of the flush */
-    private static String flush_val = null;
+    /** The equity simulations in progress, by the key of the request */
+    private final SingleFlight<String, EquityResponse> equityFlight = new SingleFlight<>();
 
-    /** Holds the high card of the flush */
-    private static String straight_val = null;
+    /** The range equity calculations in progress, by board, ranges and runouts */
+    private final SingleFlight<String, RangeEquityResponse> rangeEquityFlight = new SingleFlight<>();
+
+    /** Serializes the results that are not encoded ahead of time */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the controller with the metrics to record to
+     * @param metrics the metrics we are recording to
+     * @param objectMapper the mapper for results that are not encoded ahead of time
+     * @param equityJobs runs the equity jobs in the background
+     * @param preflopTable the precomputed preflop equities
+     * @param flopDatabase the precomputed stats of every flop
+     * @param evaluator evaluates the hands of the best hand endpoints
+     */
+    public PokerController(PokerMetrics metrics, ObjectMapper objectMapper, EquityJobService equityJobs,
+            PreflopTable preflopTable, FlopDatabase flopDatabase, HandEvaluator evaluator) {
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.equityJobs = equityJobs;
+        this.preflopTable = preflopTable;
+        this.flopDatabase = flopDatabase;
+        this.evaluator = evaluator;
+    }
 
     /**
      * Method to get the best hand from a list of cards
      * Calculates the NUTs hand using the best hand calculation logic
+     * The JSON of five card and larger results is copied from the bytes
+     * encoded at startup instead of being serialized. The ETag names the
+     * cards the best hand uses. It is not checked against If-None-Match,
+     * since a POST may only answer that with a 412 and is never cached
      * @param pokerHand the hand of cards we are using to calculate
      * the best hand from
-     * @return the best hand from the list of cards
+     * @param response the response the best hand is written to
+     * @throws IOException if the response could not be written
      */
-    @PostMapping("/bestHand")
-    public ResponseEntity<String> getBestHand(@RequestBody PokerHand pokerHand) {
-        String bestHand = calculateBestHand(pokerHand.getCards());
-        return ResponseEntity.ok(new BestHandResponse(bestHand));
+    @PostMapping(value = "/bestHand", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getBestHand(@RequestBody PokerHand pokerHand, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            metrics.recordCards("bestHand", pokerHand.size());
+            long cards = pokerHand.getCardMask();
+            int strength = evaluator.evaluate(cards);
+            metrics.recordEvaluation(BitmaskEvaluator.category(strength));
+            long usedCards = BitmaskEvaluator.usedCards(cards, strength);
+
+            String etag = "\"" + Long.toHexString(usedCards) + "\"";
+            response.setHeader(HttpHeaders.ETAG, etag);
+
+            byte[] json = EncodedResults.encode(strength, usedCards, BitmaskEvaluator.flushSuit(cards));
+            metrics.recordCacheAccess("encodedResults", json != null);
+            if (json == null) {
+                json = objectMapper.writeValueAsBytes(new BestHandResponse(cards, strength));
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(json.length);
+            response.getOutputStream().write(json);
+        } finally {
+            metrics.stopRequest(sample, "bestHand");
+        }
     }
 
     /**
-     * Method to calculate the best hand from a list of cards
-     * @param cards the list of cards we are using to calculate 
-     * the best hand from
-     * @return The best hand from the list of cards
+     * Method to get the best hand of every poker hand in a batch
+     * @param pokerHands the hands we are calculating the best hands of
+     * @return the best hands in the same order as the poker hands
      */
-    private String calculateBestHand(List<String> cards) {
-        // Parse ranks and suits
-        List<String> ranks = new ArrayBasedList<>();
-        List<Character> suits = new ArrayBasedList<>();
-
-        for (String card : cards) {
-            ranks.addFirst(card.substring(0, card.length() - 1));
-            suits.addFirst(card.charAt(card.length() - 1));
-        }
-
-        // Count the frequencies of each of the rank
-        Map<String, Integer> rankFrequencies = new LinearProbingHashMap<>();
-        Map<Character, Integer> suitFrequencies = new LinearProbingHashMap<>();
-        for(String rank : ranks) {
-            if(rankFrequencies.get(rank) == null) {
-                rankFrequencies.put(rank, 1);
-            } else {
-                rankFrequencies.put(rank, rankFrequencies.get(rank) + 1);
-            }
-        }
-        for(char suit : suits) {
-            if(suitFrequencies.get(suit) == null) {
-                suitFrequencies.put(suit, 1);
-            } else {
-                suitFrequencies.put(suit, suitFrequencies.get(suit) + 1);
+    @PostMapping("/batch")
+    public ResponseEntity<List<BestHandResponse>> getBestHands(@RequestBody List<PokerHand> pokerHands) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            List<BestHandResponse> responses = new ArrayList<>(pokerHands.size());
+            for (PokerHand pokerHand : pokerHands) {
+                responses.add(evaluate("batch", pokerHand));
             }
+            return ResponseEntity.ok(responses);
+        } finally {
+            metrics.stopRequest(sample, "batch");
         }
-
-        // Checks for a flush
-        boolean flush = isFlush(suitFrequencies);
-
-        // Check for a straight
-        List<Integer> rankValues = new ArrayBasedList<>();
-        for(Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-            rankValues.addFirst(rankToValue(rank.getKey()));
-        }
-        sort(rankValues);
-
-        // Check for a straight
-        boolean straight = isConsecutive(rankValues);
-
-        // Check for specific hand rankings
-        if (flush && straight && rankValues.get(14) != null) {
-            nuts = "Royal Flush"; // Straight Flush with Ace high
-            return nuts;
-        } else if (straight && flush) {
-            straight_flush(rankValues);
-            return nuts;
-        } else if (quads(rankFrequencies)) {
-            return nuts;
-        } else if (fullhouse(rankFrequencies)) {
-            return nuts;
-        } else if (flush) {
-            return nuts;
-        } else if (straight) {
-            nuts = "Straight: " + straight_val + " high";
-            return nuts;
-        } else if (three_of_a_kind(rankFrequencies)) {
-            return nuts;
-        } else if (twoPair(rankFrequencies)) {
-            return nuts;
-        } else if (pair(rankFrequencies)) {
-            return nuts;
-        } else {
-            // Default to High Card
-            int highCard = rankValues.get(rankValues.size() - 1);
-            nuts = "High Card: " + valueToRank(highCard);
-        }
-
-        return nuts;
     }
 
     /**
-     * Private helper method to check for a pair
-     * @param rankFrequencies the map of rank frequencies
-     * @return if there is a three of a kind
+     * Method to get the outs of a hand on the next street
+     * @param pokerHand the cards dealt so far, six at most
+     * @return the number of unseen cards that improve the hand to each category
      */
-    private boolean pair(Map<String, Integer> rankFrequencies) {
-        for(Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-            if(rank.getValue() == 2) {
-                nuts = "Pair of two: " + rank.getKey();
-                return true;
-            }
+    @PostMapping("/outs")
+    public ResponseEntity<OutsResponse> getOuts(@RequestBody PokerHand pokerHand) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            return ResponseEntity.ok(outs(pokerHand));
+        } finally {
+            metrics.stopRequest(sample, "outs");
         }
-        return false;
     }
 
     /**
-     * Helper method to check for two pairs
-     * @param rankFrequencies the map of rank frequencies
-     * @return if there are two pairs
+     * Method to rank the players of a showdown on a shared board
+     * @param showdown the board and the hole cards of each player
+     * @return the strength of each player and the players that win the pot
      */
-    private boolean twoPair(Map<String, Integer> rankFrequencies) {
-        List<Integer> pairs = new ArrayBasedList<>();
-
-        for (Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-            if (rank.getValue() == 2) {
-                pairs.addLast(rankToValue(rank.getKey()));
-            }
+    @PostMapping("/showdown")
+    public ResponseEntity<ShowdownResponse> getShowdown(@RequestBody ShowdownRequest showdown) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            return ResponseEntity.ok(new ShowdownResponse(showdown.boardMask(), showdown.holeCardMasks(),
+                    evaluator));
+        } finally {
+            metrics.stopRequest(sample, "showdown");
         }
+    }
 
-        if (pairs.size() == 2) {
-            // Sort the pairs to determine the higher and lower pair
-            sort(pairs);
-            Integer highPair = pairs.get(0);
-            Integer lowPair = pairs.get(1);
-
-            nuts = "Two Pair: " + highPair + " and " + lowPair;
-            return true;
+    /**
+     * Method to get the nuts of a board
+     * Concurrent requests for the same board share one calculation
+     * @param board the cards on the board, three to five
+     * @return the best hand any player can hold and the hole cards that make it
+     */
+    @PostMapping("/nuts")
+    public ResponseEntity<NutsResponse> getNuts(@RequestBody PokerHand board) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            metrics.recordCards("nuts", board.size());
+            long cards = board.getCardMask();
+            SingleFlight.Result<NutsResponse> result = nutsFlight.execute(cards, () -> new NutsResponse(cards));
+            metrics.recordCacheAccess("nutsInFlight", result.isShared());
+            return ResponseEntity.ok(result.getValue());
+        } finally {
+            metrics.stopRequest(sample, "nuts");
         }
-
-        return false;
     }
 
     /**
-     * Helper method to check for full houses
-     * @param rankFrequencies the frequencies of the ranks
-     * @return if there is a full house or not
+     * Method to get the texture, nuts and hand categories of a flop
+     * Looked up from the flop database instead of trying every pair of hole cards
+     * @param flop the three cards of the flop
+     * @return the analytics of the flop
      */
-    private boolean fullhouse(Map<String, Integer> rankFrequencies) {
-        boolean three = false;
-        String three_val = "";
-
-        boolean two = false;
-        String two_val = "";
-
-        for(Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-            if(rank.getValue() == 3) {
-                three = true;
-                three_val = rank.getKey();
-            } else if(rank.getValue() == 2) {
-                two = true;
-                two_val = rank.getKey();
-            }
+    @PostMapping("/flop")
+    public ResponseEntity<FlopResponse> getFlop(@RequestBody PokerHand flop) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            metrics.recordCards("flop", flop.size());
+            long cards = flop.getCardMask();
+            return ResponseEntity.ok(new FlopResponse(cards, flopDatabase.lookup(cards)));
+        } finally {
+            metrics.stopRequest(sample, "flop");
         }
-        if(three && two) {
-            nuts = "Full House: " + three_val + " full of " + two_val;
-            return true;
-        }
-        return false;
     }
 
     /**
-     * Helper method to check for a straight flush
-     * @param rankValues the list of rank values
+     * Method to estimate the equity of each player by dealing random runouts
+     * With an epsilon or time budget the runouts are dealt in batches until
+     * the 95% confidence interval is narrow enough or the time is spent
+     * Concurrent requests with the same cards and options share one simulation
+     * @param request the board, the hole cards of each player and the number of runouts
+     * @return the estimated equity of each player
      */
-    private void straight_flush(List<Integer> rankValues) {
-        nuts = "Straight Flush: " + valueToRank(rankValues.get(rankValues.size() - 1)) + " high of " + flush_val;
+    @PostMapping("/equity")
+    public ResponseEntity<EquityResponse> getEquity(@RequestBody EquityRequest request) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            long board = request.boardMask();
+            long[] holeCards = request.holeCardMasks();
+            StopRule rule = request.stopRule(EquityRequest.MAX_ITERATIONS);
+            SingleFlight.Result<EquityResponse> result = equityFlight.execute(request.key(), () -> {
+                EquitySimulation simulation = new EquitySimulation(board, holeCards, request.getSampler());
+                StopRule.Reason reason = simulation.run(rule, EQUITY_BATCH_SIZE, new SplittableRandom());
+                return new EquityResponse(simulation, reason);
+            });
+            metrics.recordCacheAccess("equityInFlight", result.isShared());
+            return ResponseEntity.ok(result.getValue());
+        } finally {
+            metrics.stopRequest(sample, "equity");
+        }
     }
 
     /**
-     * Private helper method to check for three of a kind
-     * @param rankFrequencies the map of rank frequencies
-     * @return if there is a three of a kind
+     * Method to look up the preflop all in equity of one starting hand against another
+     * Answered from the precomputed table, so it takes the same time for any pair.
+     * Hands are classes such as "AKs", "AKo" or "QQ", or combos such as "AhKh"
+     * which are looked up as their class
+     * @param hero the first starting hand
+     * @param villain the second starting hand
+     * @return the equity of the first hand, or service unavailable if no table was generated
      */
-    private boolean three_of_a_kind(Map<String, Integer> rankFrequencies) {
-        for(Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-            if(rank.getValue() == 3) {
-                nuts = "Three of a kind: " + rank.getKey();
-                return true;
+    @GetMapping("/preflop-equity")
+    public ResponseEntity<PreflopEquityResponse> getPreflopEquity(@RequestParam String hero,
+            @RequestParam String villain) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            int first = StartingHands.parse(hero);
+            int second = StartingHands.parse(villain);
+            if (!preflopTable.isLoaded()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
             }
+            return ResponseEntity.ok(new PreflopEquityResponse(preflopTable, first, second));
+        } finally {
+            metrics.stopRequest(sample, "preflop-equity");
         }
-        return false;
     }
 
     /**
-     * Private helper method to check for four of a kind
-     * @param rankFrequencies the map of rank frequencies
-     * @return if there is a four of a kind
+     * Method to work out the equity of one range against another
+     * Every runout is dealt from the flop on and a sample of them before it.
+     * Concurrent requests with the same board, ranges and runouts share one calculation
+     * @param request the board, the two ranges and the number of runouts to sample
+     * @return the equity of each range and of each combo in it
      */
-    private boolean quads(Map<String, Integer> rankFrequencies) {
-       for(Entry<String, Integer> rank : rankFrequencies.entrySet()) {
-           if(rank.getValue() == 4) {
-               nuts = "Four of a kind: " + rank.getKey();
-               return true;
-           }
-       }
-       return false;
+    @PostMapping("/range-equity")
+    public ResponseEntity<RangeEquityResponse> getRangeEquity(@RequestBody RangeEquityRequest request) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            long board = request.boardMask();
+            HandRange[] ranges = request.handRanges();
+            int iterations = request.iterations();
+            String key = Long.toHexString(board) + '/' + ranges[0] + '/' + ranges[1] + 'x' + iterations;
+            SingleFlight.Result<RangeEquityResponse> result = rangeEquityFlight.execute(key, () ->
+                    new RangeEquityResponse(new RangeEquity(board, ranges[0], ranges[1], iterations,
+                            new SplittableRandom()), ranges));
+            metrics.recordCacheAccess("rangeEquityInFlight", result.isShared());
+            return ResponseEntity.ok(result.getValue());
+        } finally {
+            metrics.stopRequest(sample, "range-equity");
+        }
     }
 
     /**
-     * Helper method to sort a list of integers
-     * Uses merge sort
-     * Delegates to merge helper method
-     * @param values the list of values we are sorting
+     * Method to start an equity simulation in the background
+     * The job is polled for its estimate with getEquityJob
+     * @param request the board, the hole cards of each player and the number of runouts
+     * @return the new job, or service unavailable if too many jobs are running
      */
-    private void sort(List<Integer> values) {
-        int n = values.size();
-
-        // Base Case
-        if (n < 2) {
-            // Already sorted
-            return;
-        }
-
-        // Recursive Case
-
-        // Mid
-        int mid = n / 2;
-
-        // Left
-        List<Integer> left = new ArrayBasedList<>();
-        for (int i = 0; i < mid; i++) {
-            left.addLast(values.get(i));
-        }
-
-        // Right
-        List<Integer> right = new ArrayBasedList<>();
-        for (int i = mid; i < n; i++) {
-            right.addLast(values.get(i));
+    @PostMapping("/equity/jobs")
+    public ResponseEntity<EquityJobResponse> submitEquityJob(@RequestBody EquityRequest request) {
+        EquitySimulation simulation = new EquitySimulation(request.boardMask(), request.holeCardMasks(),
+                request.getSampler());
+        EquityJob job = equityJobs.submit(simulation, request.stopRule(EquityRequest.MAX_JOB_ITERATIONS));
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
+        return ResponseEntity.accepted().location(URI.create("/api/poker/equity/jobs/" + job.getId()))
+                .body(new EquityJobResponse(job));
+    }
 
-        // Recursive call
-        sort(left);
-        sort(right);
+    /**
+     * Method to poll an equity job
+     * @param id the id of the job
+     * @return the state and latest estimate of the job
+     */
+    @GetMapping("/equity/jobs/{id}")
+    public ResponseEntity<EquityJobResponse> getEquityJob(@PathVariable String id) {
+        EquityJob job = equityJobs.get(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(new EquityJobResponse(job));
+    }
 
-        // Merge
-        merge(left, right, values);
+    /**
+     * Method to stop an equity job early
+     * The job keeps the estimate it had reached
+     * @param id the id of the job
+     * @return the state and latest estimate of the job
+     */
+    @DeleteMapping("/equity/jobs/{id}")
+    public ResponseEntity<EquityJobResponse> cancelEquityJob(@PathVariable String id) {
+        EquityJob job = equityJobs.cancel(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(new EquityJobResponse(job));
     }
 
     /**
-     * Helper method to merge two sorted lists
-     * @param left the left list we are merging
-     * @param right the right list we are merging
-     * @param result the result list that is merged
+     * Method to get the best hand of a hand in the binary protocol
+     * @param body the length byte and card codes of the hand
+     * @return the strength of the best hand as a 4 byte int
      */
-    private void merge(List<Integer> left, List<Integer> right, List<Integer> result) {
-        int resultIndex = 0;
-        int leftIndex = 0;
-        int rightIndex = 0;
-
-        // Merge elements from left and right into result
-        while (leftIndex < left.size() && rightIndex < right.size()) {
-            if (left.get(leftIndex) >= right.get(rightIndex)) {
-                result.set(resultIndex++, left.get(leftIndex++));
-            } else {
-                result.set(resultIndex++, right.get(rightIndex++));
+    @PostMapping(value = "/bestHand", consumes = BinaryHands.MEDIA_TYPE, produces = BinaryHands.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getBestHandBinary(@RequestBody byte[] body) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(body);
+            long cards = BinaryHands.readHand(in);
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected bytes after the hand");
             }
+            metrics.recordCards("bestHand", Long.bitCount(cards));
+            int strength = evaluator.evaluate(cards);
+            metrics.recordEvaluation(BitmaskEvaluator.category(strength));
+            return ResponseEntity.ok(ByteBuffer.allocate(BinaryHands.RESULT_BYTES).putInt(strength).array());
+        } finally {
+            metrics.stopRequest(sample, "bestHand");
         }
+    }
 
-        // Copy remaining elements from left
-        while (leftIndex < left.size()) {
-            result.set(resultIndex++, left.get(leftIndex++));
+    /**
+     * Method to get the best hand of every hand in a binary batch
+     * Reads the hands one after the other from the body and writes a
+     * 4 byte strength for each of them, in the same order
+     * @param request the request holding the hands
+     * @param response the response the strengths are written to
+     * @throws IOException if the body could not be read or written
+     */
+    @PostMapping(value = "/batch", consumes = BinaryHands.MEDIA_TYPE, produces = BinaryHands.MEDIA_TYPE)
+    public void getBestHandsBinary(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            ByteBuffer in = BinaryHands.readBody(Channels.newChannel(request.getInputStream()),
+                    request.getContentLength(), MAX_BINARY_BATCH_BYTES);
+            ByteBuffer out = ByteBuffer.allocate(in.remaining() / BinaryHands.MIN_HAND_BYTES * BinaryHands.RESULT_BYTES);
+            int[] categories = new int[HandCategory.values().length];
+            while (in.hasRemaining()) {
+                long cards = BinaryHands.readHand(in);
+                metrics.recordCards("batch", Long.bitCount(cards));
+                int strength = evaluator.evaluate(cards);
+                categories[BitmaskEvaluator.category(strength).ordinal()]++;
+                out.putInt(strength);
+            }
+            metrics.recordEvaluations(categories);
+
+            out.flip();
+            response.setContentType(BinaryHands.MEDIA_TYPE);
+            response.setContentLength(out.remaining());
+            BinaryHands.writeFully(out, Channels.newChannel(response.getOutputStream()));
+        } finally {
+            metrics.stopRequest(sample, "batch");
         }
+    }
 
-        // Copy remaining elements from right
-        while (rightIndex < right.size()) {
-            result.set(resultIndex++, right.get(rightIndex++));
-        }
+    /**
+     * Helper method to calculate and record the best hand of a poker hand
+     * @param endpoint the endpoint the poker hand was sent to
+     * @param pokerHand the hand we are calculating the best hand of
+     * @return the best hand of the poker hand
+     */
+    private BestHandResponse evaluate(String endpoint, PokerHand pokerHand) {
+        metrics.recordCards(endpoint, pokerHand.size());
+        long cards = pokerHand.getCardMask();
+        int strength = evaluator.evaluate(cards);
+        metrics.recordEvaluation(BitmaskEvaluator.category(strength));
+        return new BestHandResponse(cards, strength);
     }
 
     /**
-     * Helper method to calculate from rank to value
-     * @param rank the rank we are converting
-     * @return the new value of the rank
+     * Helper method to calculate and record the outs of a poker hand
+     * @param pokerHand the cards dealt so far
+     * @return the outs of the poker hand
+     * @throws IllegalArgumentException if the hand has no cards to come
      */
-    private int rankToValue(String rank) {
-        return switch (rank) {
-            case "A" -> 14;
-            case "K" -> 13;
-            case "Q" -> 12;
-            case "J" -> 11;
-            case "10" -> 10;
-            default -> Integer.parseInt(rank);
-        };
+    private OutsResponse outs(PokerHand pokerHand) {
+        if (pokerHand.size() >= PokerHand.MAX_CARDS) {
+            throw new IllegalArgumentException("No cards left to come after " + PokerHand.MAX_CARDS + " cards");
+        }
+        metrics.recordCards("outs", pokerHand.size());
+        return new OutsResponse(pokerHand.getCardMask());
     }
 
     /**
-     * Helper method to calculate from value to rank
-     * @param value the value we are converting
-     * @return the new rank of the value
+     * Method to handle a request body that could not be read
+     * Counts the failure against the endpoint that was called
+     * @param e the exception thrown while reading the body
+     * @param handler the endpoint method that was called
+     * @return a bad request response
      */
-    private String valueToRank(int value) {
-        return switch (value) {
-            case 14 -> "A";
-            case 13 -> "K";
-            case 12 -> "Q";
-            case 11 -> "J";
-            default -> String.valueOf(value);
-        };
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(HttpMessageNotReadableException e, HandlerMethod handler) {
+        metrics.recordParseFailure(endpoint(handler), "body");
+        return ResponseEntity.badRequest().body("Request body could not be read");
     }
 
     /**
-     * Checks for a flush
-     * @param suitFrequencies the map of suit frequencies
-     * @return if there is a flush or not
+     * Method to handle options or a size that are out of bounds
+     * Counted apart from the cards that could not be parsed
+     * @param e the exception naming the option or limit
+     * @param handler the endpoint method that was called
+     * @return a bad request response
      */
-    private boolean isFlush(Map<Character, Integer> suitFrequencies) {
-        for(Entry<Character, Integer> suit : suitFrequencies.entrySet()) {
-            if(suit.getValue() >= 5) {
-                flush_val = String.valueOf(suit.getKey());
-                return true;
-            }
-        }
-        return false;
+    @ExceptionHandler(RequestLimitException.class)
+    public ResponseEntity<String> handleRequestLimit(RequestLimitException e, HandlerMethod handler) {
+        metrics.recordParseFailure(endpoint(handler), "options");
+        return ResponseEntity.badRequest().body("Invalid request: " + e.getMessage());
     }
 
     /**
-     * Helper method to check if the values are consecutive
-     * @param values the list of values we are checking
-     * @return if the values are consecutive or not
+     * Method to handle cards that could not be parsed
+     * Counts the failure against the endpoint that was called
+     * @param e the exception thrown while parsing the cards
+     * @param handler the endpoint method that was called
+     * @return a bad request response
      */
-    private boolean isConsecutive(List<Integer> values) {
-        for (int i = 1; i < values.size(); i++) {
-            if (values.get(i) != values.get(i - 1) + 1) {
-                return false;
-            } else if(i == values.size() - 1)
-                straight_val = valueToRank(i);
-        }
-        return values.size() >= 5;
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidCards(IllegalArgumentException e, HandlerMethod handler) {
+        metrics.recordParseFailure(endpoint(handler), "cards");
+        return ResponseEntity.badRequest().body("Invalid cards: " + e.getMessage());
     }
 
     /**
-     * Private inner class to represent the server response
-     * 
-     * @author Tristan Curtis (tmc3221)
+     * Helper method to get the endpoint name of a handler method
+     * The mapping is merged from whichever of GetMapping, PostMapping and
+     * the others the method is annotated with
+     * @param handler the endpoint method that was called
+     * @return the path of the endpoint without the leading slash
      */
-    private static class BestHandResponse {
-
-        /** The best hand possible */
-        private String bestHand;
-    
-        /**
-         * Constructs a BestHandResponse with a best hand
-         * @param bestHand the best hand
-         */
-        public BestHandResponse(String bestHand) {
-            this.bestHand = bestHand;
-        }
-    
-        /**
-         * Method to get the best hand
-         * @return the best hand
-         */
-        @SuppressWarnings("unused")
-        public String getBestHand() {
-            return bestHand;
-        }
-    
-        /**
-         * Sets the best hand
-         * @param bestHand the best hand
-         */
-        @SuppressWarnings("unused")
-        public void setBestHand(String bestHand) {
-            this.bestHand = bestHand;
+    private String endpoint(HandlerMethod handler) {
+        RequestMapping mapping = handler.getMethodAnnotation(RequestMapping.class);
+        if (mapping == null || mapping.value().length == 0) {
+            return handler.getMethod().getName();
         }
+        return mapping.value()[0].substring(1);
     }
 }
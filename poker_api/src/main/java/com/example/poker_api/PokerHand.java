@@ -1,24 +1,57 @@
 package com.example.poker_api;
 
 import com.example.poker_api.dsa.list.List;
+import com.example.poker_api.eval.Cards;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 /**
  * Class to represent a Poker Hand
- * Contains a list of cards in the hand
+ * Contains the set of cards in the hand as a bit mask
+ * Read from JSON by PokerHandDeserializer without creating
+ * a String or list for the cards
  * 
  * @author Tristan Curtis (tmc3221)
  */
+@JsonDeserialize(using = PokerHandDeserializer.class)
 public class PokerHand {
 
-    /** The list of cards in the poker hand */
-    private List<String> cards;
+    /** The most cards a poker hand can hold */
+    public static final int MAX_CARDS = 7;
+
+    /** The set of cards in the poker hand, one bit per card code */
+    private long cardMask;
 
     /**
      * Constructs a poker hand with a set of cards
+     * @param cardMask the set of cards, one bit per card code
+     */
+    public PokerHand(long cardMask) {
+        setCardMask(cardMask);
+    }
+
+    /**
+     * Constructs a poker hand with a list of cards
      * @param cards the cards we are using to create the poker hand
+     * @throws IllegalArgumentException if a card is not valid or repeated
      */
     public PokerHand(List<String> cards) {
-        setCards(cards);
+        this(Cards.parseAll(cards));
+    }
+
+    /**
+     * Method to get the set of cards in the poker hand
+     * @return the set of cards, one bit per card code
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * Method to get the number of cards in the poker hand
+     * @return the number of cards in the poker hand
+     */
+    public int size() {
+        return Long.bitCount(cardMask);
     }
 
     /**
@@ -26,16 +59,38 @@ public class PokerHand {
      * @return the list of cards in the poker hand
      */
     public List<String> getCards() {
-        return cards;
+        return Cards.toList(cardMask);
     }
 
     /**
-     * Method to set the list of cards in the poker hand
-     * @param cards the list of cards in the poker hand
+     * Method to set the set of cards in the poker hand
+     * @param cardMask the set of cards, one bit per card code
+     * @throws IllegalArgumentException if there are no cards or too many cards
      */
-    private void setCards(List<String> cards) {
-        this.cards = cards;
+    private void setCardMask(long cardMask) {
+        if ((cardMask & ~Cards.DECK) != 0) {
+            throw new IllegalArgumentException("Invalid card code");
+        }
+        int size = Long.bitCount(cardMask);
+        if (size == 0 || size > MAX_CARDS) {
+            throw new IllegalArgumentException("A poker hand holds 1 to " + MAX_CARDS + " cards");
+        }
+        this.cardMask = cardMask;
     }
 
-    // TODO: Add a toString method to print out the cards in the hand
+    /**
+     * Method to get the cards in the poker hand as text
+     * @return the cards in the poker hand such as [Ah, Kd]
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (String card : getCards()) {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(card);
+        }
+        return text.append(']').toString();
+    }
 }
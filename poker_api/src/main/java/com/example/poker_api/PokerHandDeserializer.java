@@ -0,0 +1,96 @@
+package com.example.poker_api;
+
+import java.io.IOException;
+
+import com.example.poker_api.eval.Cards;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Class to read a PokerHand from JSON such as {"cards": ["Ah", "10d"]}
+ * Streams through the tokens and parses every card straight from the
+ * parser's character buffer into the card mask, so no String or list is
+ * created for the cards. Ranks, suits and repeated cards are checked as
+ * they are read
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class PokerHandDeserializer extends StdDeserializer<PokerHand> {
+
+    /** Version of the serialized form, StdDeserializer is Serializable */
+    private static final long serialVersionUID = 1L;
+
+    /** The name of the field holding the cards */
+    private static final String CARDS = "cards";
+
+    /**
+     * Constructs the deserializer for poker hands
+     */
+    public PokerHandDeserializer() {
+        super(PokerHand.class);
+    }
+
+    /**
+     * Method to read a poker hand
+     * @param p the parser positioned at the start of the poker hand
+     * @param ctxt the context of the deserialization
+     * @return the poker hand that was read
+     * @throws IOException if the JSON is not a valid poker hand
+     */
+    @Override
+    public PokerHand deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            throw ctxt.wrongTokenException(p, PokerHand.class, JsonToken.START_OBJECT, "Expected a poker hand");
+        }
+        long cards = 0;
+        boolean found = false;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken value = p.nextToken();
+            if (!CARDS.equals(field)) {
+                p.skipChildren();
+                continue;
+            }
+            if (value != JsonToken.START_ARRAY) {
+                throw ctxt.wrongTokenException(p, PokerHand.class, JsonToken.START_ARRAY, "Expected an array of cards");
+            }
+            found = true;
+            cards = readCards(p, ctxt);
+        }
+        if (!found || cards == 0) {
+            return ctxt.reportInputMismatch(PokerHand.class, "A poker hand needs at least one card");
+        }
+        return new PokerHand(cards);
+    }
+
+    /**
+     * Helper method to read the array of cards
+     * @param p the parser positioned at the start of the array
+     * @param ctxt the context of the deserialization
+     * @return the set of cards, one bit per card code
+     * @throws IOException if a card is not valid or repeated, or there are too many cards
+     */
+    private long readCards(JsonParser p, DeserializationContext ctxt) throws IOException {
+        long cards = 0;
+        int size = 0;
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw ctxt.wrongTokenException(p, PokerHand.class, JsonToken.VALUE_STRING, "Expected a card such as \"Ah\"");
+            }
+            if (++size > PokerHand.MAX_CARDS) {
+                return ctxt.reportInputMismatch(PokerHand.class, "A poker hand holds at most %d cards", PokerHand.MAX_CARDS);
+            }
+            int code = Cards.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (code < 0) {
+                throw ctxt.weirdStringException(p.getText(), PokerHand.class, "Invalid card");
+            }
+            long bit = 1L << code;
+            if ((cards & bit) != 0) {
+                throw ctxt.weirdStringException(p.getText(), PokerHand.class, "Duplicate card");
+            }
+            cards |= bit;
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.poker_api;
+
+import com.example.poker_api.preflop.PreflopTable;
+import com.example.poker_api.preflop.StartingHands;
+
+/**
+ * Class to represent the server response for a preflop equity lookup
+ * Holds how one class of starting hands does against another all in
+ * before the flop, averaged over the suits of both classes
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class PreflopEquityResponse {
+
+    /** The name of the first class, such as "AKs" */
+    private final String hero;
+
+    /** The name of the second class */
+    private final String villain;
+
+    /** The share of the pot the first class wins on average */
+    private final double equity;
+
+    /** The share of matchups the first class wins outright */
+    private final double win;
+
+    /** The share of matchups that are tied */
+    private final double tie;
+
+    /**
+     * Constructs the response from the table
+     * @param table the table of preflop equities
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     */
+    public PreflopEquityResponse(PreflopTable table, int hero, int villain) {
+        this.hero = StartingHands.name(hero);
+        this.villain = StartingHands.name(villain);
+        this.win = table.win(hero, villain);
+        this.tie = table.tie(hero, villain);
+        this.equity = table.equity(hero, villain);
+    }
+
+    /**
+     * Method to get the name of the first class
+     * @return the name such as "AKs"
+     */
+    public String getHero() {
+        return hero;
+    }
+
+    /**
+     * Method to get the name of the second class
+     * @return the name such as "QQ"
+     */
+    public String getVillain() {
+        return villain;
+    }
+
+    /**
+     * Method to get the equity of the first class
+     * @return the share of the pot won on average, from 0 to 1
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * Method to get how often the first class wins outright
+     * @return the share of matchups won
+     */
+    public double getWin() {
+        return win;
+    }
+
+    /**
+     * Method to get how often the classes tie
+     * @return the share of matchups tied
+     */
+    public double getTie() {
+        return tie;
+    }
+}
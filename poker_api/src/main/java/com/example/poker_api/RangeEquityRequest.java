@@ -0,0 +1,118 @@
+package com.example.poker_api;
+
+import java.util.List;
+
+import com.example.poker_api.range.HandRange;
+
+/**
+ * Class to represent a range against range equity request
+ * Holds the board and two ranges in the usual notation, such as
+ * "QQ+, AKs", along with the number of runouts to sample when there
+ * are too many to deal them all
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class RangeEquityRequest {
+
+    /** The number of ranges in a request */
+    public static final int RANGES = 2;
+
+    /** The number of runouts sampled when none is given */
+    public static final int DEFAULT_ITERATIONS = 2_000;
+
+    /** The most runouts that can be sampled */
+    public static final int MAX_ITERATIONS = 100_000;
+
+    /** The cards on the board, or null for no board */
+    private PokerHand board;
+
+    /** The notation of each range */
+    private List<String> ranges;
+
+    /** The number of runouts to sample */
+    private int iterations = DEFAULT_ITERATIONS;
+
+    /**
+     * Method to get the board
+     * @return the cards on the board
+     */
+    public PokerHand getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board
+     * @param board the cards on the board
+     */
+    public void setBoard(PokerHand board) {
+        this.board = board;
+    }
+
+    /**
+     * Method to get the notation of each range
+     * @return the notation of each range
+     */
+    public List<String> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Sets the notation of each range
+     * @param ranges the notation of each range
+     */
+    public void setRanges(List<String> ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Method to get the number of runouts to sample
+     * @return the number of runouts
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the number of runouts to sample
+     * @param iterations the number of runouts
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Method to get the set of cards on the board
+     * @return the set of cards on the board, 0 for no board
+     */
+    public long boardMask() {
+        return board == null ? 0 : board.getCardMask();
+    }
+
+    /**
+     * Method to parse and check the ranges
+     * @return the two ranges
+     * @throws IllegalArgumentException if there are not two ranges or one is not valid
+     */
+    public HandRange[] handRanges() {
+        if (ranges == null || ranges.size() != RANGES || ranges.contains(null)) {
+            throw new IllegalArgumentException("A range equity request needs " + RANGES + " ranges");
+        }
+        HandRange[] parsed = new HandRange[RANGES];
+        for (int i = 0; i < RANGES; i++) {
+            parsed[i] = HandRange.parse(ranges.get(i));
+        }
+        return parsed;
+    }
+
+    /**
+     * Method to get and check the number of runouts to sample
+     * @return the number of runouts
+     * @throws RequestLimitException if the number is not from 1 to the maximum
+     */
+    public int iterations() {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new RequestLimitException("Iterations must be from 1 to " + MAX_ITERATIONS);
+        }
+        return iterations;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.poker_api;
+
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.range.HandRange;
+import com.example.poker_api.range.RangeEquity;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Class to represent the server response for a range against range equity
+ * Holds the equity of each range and of each combo in it
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@JsonPropertyOrder({ "runouts", "exhaustive", "matchups", "ranges" })
+public class RangeEquityResponse {
+
+    /** The number of runouts dealt */
+    private final int runouts;
+
+    /** Whether every runout was dealt, making the equities exact */
+    private final boolean exhaustive;
+
+    /** The number of matchups of combos and runouts that share no card */
+    private final long matchups;
+
+    /** The result of each range, in the order of the request */
+    private final RangeResult[] ranges;
+
+    /**
+     * Constructs the response from a finished calculation
+     * @param equity the calculation we are responding with
+     * @param handRanges the ranges of the request
+     */
+    public RangeEquityResponse(RangeEquity equity, HandRange[] handRanges) {
+        runouts = equity.getRunouts();
+        exhaustive = equity.isExhaustive();
+        matchups = equity.getMatchups(0, -1);
+        ranges = new RangeResult[handRanges.length];
+        for (int side = 0; side < ranges.length; side++) {
+            ranges[side] = new RangeResult(equity, side, handRanges[side]);
+        }
+    }
+
+    /**
+     * Method to get the number of runouts dealt
+     * @return the number of runouts
+     */
+    public int getRunouts() {
+        return runouts;
+    }
+
+    /**
+     * Method to check whether every runout was dealt
+     * @return true if the equities are exact
+     */
+    public boolean isExhaustive() {
+        return exhaustive;
+    }
+
+    /**
+     * Method to get the number of matchups
+     * @return the number of matchups of combos and runouts that share no card
+     */
+    public long getMatchups() {
+        return matchups;
+    }
+
+    /**
+     * Method to get the result of each range
+     * @return the result of each range, in the order of the request
+     */
+    public RangeResult[] getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Inner class to represent the equity of one range
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    @JsonPropertyOrder({ "range", "equity", "wins", "ties", "combos" })
+    public static class RangeResult {
+
+        /** The notation of the range */
+        private final String range;
+
+        /** The share of the pot the range wins on average */
+        private final double equity;
+
+        /** The number of matchups won */
+        private final long wins;
+
+        /** The number of matchups tied */
+        private final long ties;
+
+        /** The equity of each combo the board does not block */
+        private final ComboEquity[] combos;
+
+        /**
+         * Constructs the result of one side of a calculation
+         * @param equity the calculation
+         * @param side the index of the side
+         * @param handRange the range of the side
+         */
+        public RangeResult(RangeEquity equity, int side, HandRange handRange) {
+            this.range = handRange.toString();
+            this.equity = equity.getEquity(side, -1);
+            this.wins = equity.getWins(side, -1);
+            this.ties = equity.getTies(side, -1);
+            int[] indexes = equity.getCombos(side);
+            combos = new ComboEquity[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                long cards = HandRange.cards(indexes[i]);
+                String name = Cards.toString(63 - Long.numberOfLeadingZeros(cards))
+                        + Cards.toString(Long.numberOfTrailingZeros(cards));
+                combos[i] = new ComboEquity(name, equity.getEquity(side, indexes[i]));
+            }
+        }
+
+        /**
+         * Method to get the notation of the range
+         * @return the notation of the range
+         */
+        public String getRange() {
+            return range;
+        }
+
+        /**
+         * Method to get the equity of the range
+         * @return the share of the pot won on average, from 0 to 1
+         */
+        public double getEquity() {
+            return equity;
+        }
+
+        /**
+         * Method to get the number of matchups won
+         * @return the number of wins
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * Method to get the number of matchups tied
+         * @return the number of ties
+         */
+        public long getTies() {
+            return ties;
+        }
+
+        /**
+         * Method to get the equity of each combo
+         * @return the equity of each combo the board does not block
+         */
+        public ComboEquity[] getCombos() {
+            return combos;
+        }
+    }
+
+    /**
+     * Inner class to represent the equity of one combo
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    public static class ComboEquity {
+
+        /** The cards of the combo, such as "AhKh" */
+        private final String combo;
+
+        /** The share of the pot the combo wins on average */
+        private final double equity;
+
+        /**
+         * Constructs the equity of a combo
+         * @param combo the cards of the combo
+         * @param equity the share of the pot the combo wins on average
+         */
+        public ComboEquity(String combo, double equity) {
+            this.combo = combo;
+            this.equity = equity;
+        }
+
+        /**
+         * Method to get the cards of the combo
+         * @return the cards of the combo, such as "AhKh"
+         */
+        public String getCombo() {
+            return combo;
+        }
+
+        /**
+         * Method to get the equity of the combo
+         * @return the share of the pot won on average, from 0 to 1
+         */
+        public double getEquity() {
+            return equity;
+        }
+    }
+}
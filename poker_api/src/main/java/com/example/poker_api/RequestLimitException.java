@@ -0,0 +1,23 @@
+package com.example.poker_api;
+
+/**
+ * Exception for a request whose options or size are out of bounds,
+ * such as too many iterations or a negative time budget
+ * Kept apart from the cards that could not be parsed so the two are
+ * answered and counted on their own
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class RequestLimitException extends IllegalArgumentException {
+
+    /** Version of the serialized form, exceptions are Serializable */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception with a message
+     * @param message the option or limit that was broken
+     */
+    public RequestLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.poker_api;
+
+import java.util.List;
+
+/**
+ * Class to represent a showdown request
+ * Holds the shared board and the hole cards of each player
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class ShowdownRequest {
+
+    /** The fewest players in a showdown */
+    public static final int MIN_PLAYERS = 2;
+
+    /** The cards shared by every player, or null for no board */
+    private PokerHand board;
+
+    /** The hole cards of each player */
+    private List<PokerHand> players;
+
+    /**
+     * Method to get the shared board
+     * @return the cards shared by every player
+     */
+    public PokerHand getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the shared board
+     * @param board the cards shared by every player
+     */
+    public void setBoard(PokerHand board) {
+        this.board = board;
+    }
+
+    /**
+     * Method to get the hole cards of each player
+     * @return the hole cards of each player
+     */
+    public List<PokerHand> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Sets the hole cards of each player
+     * @param players the hole cards of each player
+     */
+    public void setPlayers(List<PokerHand> players) {
+        this.players = players;
+    }
+
+    /**
+     * Method to get the set of cards on the board
+     * @return the set of cards shared by every player, 0 for no board
+     */
+    public long boardMask() {
+        return board == null ? 0 : board.getCardMask();
+    }
+
+    /**
+     * Method to get and check the set of hole cards of each player
+     * @return the set of hole cards of each player
+     * @throws IllegalArgumentException if there are too few players, a card
+     * is dealt twice or a player would hold more than seven cards
+     */
+    public long[] holeCardMasks() {
+        if (players == null || players.size() < MIN_PLAYERS) {
+            throw new IllegalArgumentException("A showdown needs at least " + MIN_PLAYERS + " players");
+        }
+        long dealt = boardMask();
+        long[] holeCards = new long[players.size()];
+        for (int i = 0; i < holeCards.length; i++) {
+            PokerHand player = players.get(i);
+            if (player == null) {
+                throw new IllegalArgumentException("Player " + i + " has no cards");
+            }
+            holeCards[i] = player.getCardMask();
+            if ((dealt & holeCards[i]) != 0) {
+                throw new IllegalArgumentException("Player " + i + " holds a card that is already dealt");
+            }
+            if (Long.bitCount(boardMask() | holeCards[i]) > PokerHand.MAX_CARDS) {
+                throw new IllegalArgumentException("Player " + i + " would hold more than " + PokerHand.MAX_CARDS + " cards");
+            }
+            dealt |= holeCards[i];
+        }
+        return holeCards;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.poker_api;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandEvaluator;
+
+/**
+ * Class to represent the server response for a showdown
+ * Holds the strength of each player's best hand and the players that
+ * win the pot. Players are compared by their strength alone, which
+ * orders hands by category and then by kickers, so equal strengths
+ * are a split pot
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class ShowdownResponse {
+
+    /** The result of each player, in the order of the request */
+    private final PlayerResult[] players;
+
+    /** The indexes of the players that win or split the pot */
+    private final int[] winners;
+
+    /**
+     * Constructs the showdown response of a board and the players' cards
+     * @param board the set of cards shared by every player
+     * @param holeCards the set of hole cards of each player
+     * @param evaluator the engine the hands are evaluated with
+     */
+    public ShowdownResponse(long board, long[] holeCards, HandEvaluator evaluator) {
+        players = new PlayerResult[holeCards.length];
+        int best = Integer.MIN_VALUE;
+        int winnerCount = 0;
+        for (int i = 0; i < holeCards.length; i++) {
+            long cards = board | holeCards[i];
+            int strength = evaluator.evaluate(cards);
+            players[i] = new PlayerResult(strength, BitmaskEvaluator.flushSuit(cards));
+            if (strength > best) {
+                best = strength;
+                winnerCount = 1;
+            } else if (strength == best) {
+                winnerCount++;
+            }
+        }
+        winners = new int[winnerCount];
+        for (int i = 0, w = 0; i < players.length; i++) {
+            if (players[i].strength == best) {
+                winners[w++] = i;
+            }
+        }
+    }
+
+    /**
+     * Method to get the result of each player
+     * @return the result of each player, in the order of the request
+     */
+    public PlayerResult[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * Method to get the players that win or split the pot
+     * @return the indexes of the winning players
+     */
+    public int[] getWinners() {
+        return winners;
+    }
+
+    /**
+     * Method to check if the pot is split
+     * @return if more than one player wins
+     */
+    public boolean isSplit() {
+        return winners.length > 1;
+    }
+
+    /**
+     * Inner class to represent the result of one player
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    public static class PlayerResult {
+
+        /** The strength of the player's best hand */
+        private final int strength;
+
+        /** The suit of the player's flush, or -1 */
+        private final int flushSuit;
+
+        /**
+         * Constructs the result of a player
+         * @param strength the strength of the player's best hand
+         * @param flushSuit the suit of the player's flush, or -1
+         */
+        public PlayerResult(int strength, int flushSuit) {
+            this.strength = strength;
+            this.flushSuit = flushSuit;
+        }
+
+        /**
+         * Method to get the strength of the player's best hand
+         * @return the strength, higher beats lower
+         */
+        public int getStrength() {
+            return strength;
+        }
+
+        /**
+         * Method to get the category of the player's best hand
+         * @return the category of the best hand
+         */
+        public HandCategory getCategory() {
+            return BitmaskEvaluator.category(strength);
+        }
+
+        /**
+         * Method to get the player's best hand
+         * @return the description of the best hand
+         */
+        public String getBestHand() {
+            return BitmaskEvaluator.describe(strength, flushSuit);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.poker_api.bench;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent the result of one load test run
+ * Holds the latency of every request so percentiles can be reported
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class LoadResult {
+
+    /** The sorted latency of every request in nanoseconds */
+    private final long[] latencies;
+
+    /** The number of requests that failed */
+    private final int errors;
+
+    /** The time the whole run took in nanoseconds */
+    private final long elapsed;
+
+    /**
+     * Constructs the result of a run
+     * @param latencies the latency of every request in nanoseconds
+     * @param errors the number of requests that failed
+     * @param elapsed the time the whole run took in nanoseconds
+     */
+    public LoadResult(long[] latencies, int errors, long elapsed) {
+        Arrays.sort(latencies);
+        this.latencies = latencies;
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Method to get the number of requests per second
+     * @return the number of requests per second
+     */
+    public double throughput() {
+        return latencies.length / (elapsed / 1e9);
+    }
+
+    /**
+     * Method to get a latency percentile
+     * @param p the percentile between 0 and 1
+     * @return the latency in milliseconds
+     */
+    public double percentile(double p) {
+        int index = (int) Math.ceil(p * latencies.length) - 1;
+        return latencies[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Method to get the number of requests that were sent
+     * @return the number of requests that were sent
+     */
+    public int requests() {
+        return latencies.length;
+    }
+
+    /**
+     * Method to get the number of requests that failed
+     * @return the number of requests that failed
+     */
+    public int errors() {
+        return errors;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.poker_api.bench;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.poker_api.cli.Options;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.EvaluatorType;
+import com.example.poker_api.protocol.BinaryHands;
+import com.example.poker_api.server.EvaluationServer;
+
+/**
+ * Benchmark client for the NIO evaluation server
+ * Each connection writes a pipeline of random seven card hands and
+ * reads back all of their results before sending the next one, so the
+ * pipeline depth is the number of hands in flight per connection. The
+ * results are read while the pipeline is still being written, so a deep
+ * pipeline can not fill both socket buffers and stall the two ends
+ *
+ * Usage: NioBenchmarkClient [--host=127.0.0.1] [--port=9090] [--connections=8]
+ * [--pipeline=1024] [--rounds=2000] [--embedded=true]
+ * With --embedded=true the server is started in the same process
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class NioBenchmarkClient {
+
+    /** The number of cards in each generated hand */
+    private static final int HAND_SIZE = 7;
+
+    /**
+     * Runs the benchmark
+     * @param args the options of the benchmark
+     * @throws Exception if the server could not be reached
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String host = options.get("host", EvaluationServer.DEFAULT_HOST);
+        int connections = options.getInt("connections", 8);
+        int pipeline = options.getInt("pipeline", 1024);
+        int rounds = options.getInt("rounds", 2000);
+
+        EvaluationServer embedded = null;
+        int port = options.getInt("port", EvaluationServer.DEFAULT_PORT);
+        if (Boolean.parseBoolean(options.get("embedded", "false"))) {
+            embedded = new EvaluationServer(host, 0, options.threads(), EvaluatorType.BITMASK.create());
+            port = embedded.getPort();
+            Thread.ofPlatform().daemon(true).start(embedded::acceptForever);
+        }
+
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        long[] latencies = new long[connections * rounds];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(connections);
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            int offset = c * rounds;
+            long seed = c;
+            Thread.ofPlatform().start(() -> {
+                try {
+                    runConnection(address, pipeline, rounds, seed, latencies, offset, errors);
+                } catch (IOException e) {
+                    System.err.println("Connection failed: " + e.getMessage());
+                    errors.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        LoadResult result = new LoadResult(latencies, errors.get(), System.nanoTime() - start);
+
+        System.out.printf("connections=%d pipeline=%d hands=%d%n", connections, pipeline,
+                (long) connections * rounds * pipeline);
+        System.out.printf("hands/s=%.0f round p50=%.3f ms p99=%.3f ms errors=%d%n",
+                result.throughput() * pipeline, result.percentile(0.50), result.percentile(0.99), result.errors());
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    /**
+     * Sends the rounds of one connection
+     * @param address the address of the server
+     * @param pipeline the number of hands per round
+     * @param rounds the number of rounds
+     * @param seed the seed of the random hands
+     * @param latencies the latency of every round, in nanoseconds
+     * @param offset the index of the first round of this connection in latencies
+     * @param errors the number of invalid results
+     * @throws IOException if the server could not be reached
+     */
+    private static void runConnection(InetSocketAddress address, int pipeline, int rounds, long seed,
+            long[] latencies, int offset, AtomicInteger errors) throws IOException {
+        ByteBuffer requests = ByteBuffer.allocateDirect(pipeline * (HAND_SIZE + 1));
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < pipeline; i++) {
+            BinaryHands.writeHand(randomHand(random), requests);
+        }
+        requests.flip();
+        ByteBuffer results = ByteBuffer.allocateDirect(pipeline * BinaryHands.RESULT_BYTES);
+
+        try (SocketChannel channel = SocketChannel.open(address); Selector selector = Selector.open()) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, 0);
+            for (int r = 0; r < rounds; r++) {
+                long sent = System.nanoTime();
+                requests.rewind();
+                results.clear();
+                while (results.hasRemaining()) {
+                    key.interestOps(requests.hasRemaining() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                            : SelectionKey.OP_READ);
+                    selector.select();
+                    if (key.isWritable()) {
+                        channel.write(requests);
+                    }
+                    if (key.isReadable() && channel.read(results) < 0) {
+                        throw new IOException("Server closed the connection");
+                    }
+                    selector.selectedKeys().clear();
+                }
+                latencies[offset + r] = System.nanoTime() - sent;
+                results.flip();
+                while (results.hasRemaining()) {
+                    if (results.getInt() == EvaluationServer.INVALID_HAND) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to deal a random hand
+     * @param random the source of randomness
+     * @return the set of cards in the hand
+     */
+    private static long randomHand(SplittableRandom random) {
+        long cards = 0;
+        while (Long.bitCount(cards) < HAND_SIZE) {
+            cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+        }
+        return cards;
+    }
+}
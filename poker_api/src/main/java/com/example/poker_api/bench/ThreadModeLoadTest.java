@@ -0,0 +1,141 @@
+package com.example.poker_api.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.poker_api.PokerApiApplication;
+
+/**
+ * Load test that compares the platform and virtual thread execution modes
+ * Starts the application once per mode on a random local port and sends
+ * best hand requests from a number of concurrent connections, then prints
+ * the throughput and latency percentiles of each concurrency level
+ *
+ * Usage: ThreadModeLoadTest [levels] [requestsPerConnection]
+ * where levels is a comma separated list such as 1000,10000,50000
+ *
+ * The higher levels need more file descriptors and local ports than most
+ * machines allow by default (ulimit -n, net.ipv4.ip_local_port_range)
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class ThreadModeLoadTest {
+
+    /** The concurrency levels that are tested by default */
+    private static final int[] DEFAULT_LEVELS = { 1_000, 5_000, 10_000, 25_000, 50_000 };
+
+    /** The number of requests each connection sends by default */
+    private static final int DEFAULT_REQUESTS = 4;
+
+    /** The body sent with every request */
+    private static final String BODY = "{\"cards\":[\"Ah\",\"Kh\",\"Qh\",\"Jh\",\"10h\",\"2c\",\"3d\"]}";
+
+    /**
+     * Runs the load test against both execution modes
+     * @param args the concurrency levels and the number of requests per connection
+     * @throws Exception if the application or a client could not be started
+     */
+    public static void main(String[] args) throws Exception {
+        int[] levels = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_LEVELS;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+
+        // DevTools would restart this main method in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        System.out.printf("%-9s %8s %10s %12s %9s %9s %9s%n",
+                "mode", "conns", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        for (boolean virtual : new boolean[] { false, true }) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                URI uri = URI.create("http://127.0.0.1:" + port + "/api/poker/bestHand");
+
+                // Warm up the server before measuring
+                run(uri, 200, 50);
+                for (int level : levels) {
+                    LoadResult result = run(uri, level, requests);
+                    System.out.printf("%-9s %8d %10d %12.0f %9.2f %9.2f %9d%n",
+                            virtual ? "virtual" : "platform", level, result.requests(),
+                            result.throughput(), result.percentile(0.50), result.percentile(0.99),
+                            result.errors());
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the application in one of the execution modes
+     * @param virtual if the requests should run on virtual threads
+     * @return the started application
+     */
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(PokerApiApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=60000",
+                "--server.tomcat.accept-count=10000");
+    }
+
+    /**
+     * Sends the requests from a number of concurrent connections
+     * Each connection is a virtual thread that sends its requests one after
+     * the other, so the number of connections is the number of requests in flight
+     * @param uri the endpoint to send the requests to
+     * @param connections the number of concurrent connections
+     * @param requests the number of requests per connection
+     * @return the latencies and errors of the run
+     * @throws InterruptedException if interrupted while waiting for the connections
+     */
+    private static LoadResult run(URI uri, int connections, int requests) throws InterruptedException {
+        long[] latencies = new long[connections * requests];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(connections);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build()) {
+            for (int c = 0; c < connections; c++) {
+                int offset = c * requests;
+                clients.execute(() -> {
+                    for (int r = 0; r < requests; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[offset + r] = System.nanoTime() - sent;
+                    }
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+        return new LoadResult(latencies, errors.get(), System.nanoTime() - start);
+    }
+}
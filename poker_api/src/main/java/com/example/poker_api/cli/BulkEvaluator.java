@@ -0,0 +1,178 @@
+package com.example.poker_api.cli;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.poker_api.PokerHand;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Command line mode that evaluates a file of packed hands
+ * The input file holds one 8 byte little endian card mask per hand (the
+ * same mask as PokerHand) and the output file gets one 4 byte little
+ * endian strength per hand at the same index, or -1 for a hand that is
+ * not valid. Both files are memory mapped a chunk at a time and the
+ * chunks are shared out between the worker threads, so no objects are
+ * created per hand
+ *
+ * Started with: --mode=bulk --in=hands.bin --out=results.bin [--threads=N]
+ * Adding --generate=N first writes N random seven card hands to the input file
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class BulkEvaluator {
+
+    /** The number of bytes of a hand in the input file */
+    public static final int HAND_BYTES = Long.BYTES;
+
+    /** The number of bytes of a result in the output file */
+    public static final int RESULT_BYTES = Integer.BYTES;
+
+    /** The result written for a hand that is not valid */
+    public static final int INVALID_HAND = -1;
+
+    /** The number of hands mapped at a time by a worker */
+    private static final int CHUNK_HANDS = 1 << 24;
+
+    /** The input file of packed hands */
+    private final Path input;
+
+    /** The output file of results */
+    private final Path output;
+
+    /** The number of worker threads */
+    private final int threads;
+
+    /**
+     * Constructs a bulk evaluator for a pair of files
+     * @param input the input file of packed hands
+     * @param output the output file of results
+     * @param threads the number of worker threads
+     */
+    public BulkEvaluator(Path input, Path output, int threads) {
+        this.input = input;
+        this.output = output;
+        this.threads = threads;
+    }
+
+    /**
+     * Runs the bulk evaluation from the command line
+     * @param args the options of the bulk evaluation
+     * @throws Exception if a file could not be read or written
+     */
+    public static void run(String[] args) throws Exception {
+        Options options = new Options(args);
+        Path input = Path.of(options.require("in"));
+        long generate = options.getLong("generate", 0);
+        if (generate > 0) {
+            generate(input, generate, options.getLong("seed", 1));
+        }
+        BulkEvaluator evaluator = new BulkEvaluator(input, Path.of(options.require("out")), options.threads());
+
+        long start = System.nanoTime();
+        long hands = evaluator.evaluate();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Evaluated %,d hands in %.3f s (%,.0f hands/s) with %d threads%n",
+                hands, seconds, hands / seconds, evaluator.threads);
+    }
+
+    /**
+     * Evaluates every hand in the input file into the output file
+     * @return the number of hands that were evaluated
+     * @throws IOException if a file could not be read or written
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public long evaluate() throws IOException, InterruptedException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (in.size() % HAND_BYTES != 0) {
+                throw new IOException("Input size is not a multiple of " + HAND_BYTES + " bytes");
+            }
+            long hands = in.size() / HAND_BYTES;
+            long chunks = (hands + CHUNK_HANDS - 1) / CHUNK_HANDS;
+            AtomicLong nextChunk = new AtomicLong();
+            IOException[] failure = new IOException[1];
+
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = Thread.ofPlatform().name("bulk-" + t).start(() -> {
+                    try {
+                        for (long chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            long first = chunk * CHUNK_HANDS;
+                            evaluateChunk(in, out, first, (int) Math.min(CHUNK_HANDS, hands - first));
+                        }
+                    } catch (IOException e) {
+                        synchronized (failure) {
+                            failure[0] = e;
+                        }
+                    }
+                });
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            return hands;
+        }
+    }
+
+    /**
+     * Helper method to evaluate one chunk of hands
+     * @param in the input file
+     * @param out the output file
+     * @param first the index of the first hand of the chunk
+     * @param count the number of hands in the chunk
+     * @throws IOException if the chunk could not be mapped
+     */
+    private static void evaluateChunk(FileChannel in, FileChannel out, long first, int count) throws IOException {
+        MappedByteBuffer hands = in.map(FileChannel.MapMode.READ_ONLY, first * HAND_BYTES, (long) count * HAND_BYTES);
+        MappedByteBuffer results = out.map(FileChannel.MapMode.READ_WRITE, first * RESULT_BYTES, (long) count * RESULT_BYTES);
+        hands.order(ByteOrder.LITTLE_ENDIAN);
+        results.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            long cards = hands.getLong(i * HAND_BYTES);
+            int size = Long.bitCount(cards);
+            boolean valid = (cards & ~Cards.DECK) == 0 && size > 0 && size <= PokerHand.MAX_CARDS;
+            results.putInt(i * RESULT_BYTES, valid ? BitmaskEvaluator.evaluate(cards) : INVALID_HAND);
+        }
+        results.force();
+    }
+
+    /**
+     * Writes a file of random seven card hands
+     * @param file the file to write
+     * @param hands the number of hands to write
+     * @param seed the seed of the random hands
+     * @throws IOException if the file could not be written
+     */
+    public static void generate(Path file, long hands, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long first = 0; first < hands; first += CHUNK_HANDS) {
+                int count = (int) Math.min(CHUNK_HANDS, hands - first);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, first * HAND_BYTES,
+                        (long) count * HAND_BYTES);
+                chunk.order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < count; i++) {
+                    long cards = 0;
+                    while (Long.bitCount(cards) < 7) {
+                        cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+                    }
+                    chunk.putLong(i * HAND_BYTES, cards);
+                }
+                chunk.force();
+            }
+        }
+    }
+}
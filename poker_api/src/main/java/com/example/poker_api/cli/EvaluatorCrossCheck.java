@@ -0,0 +1,223 @@
+package com.example.poker_api.cli;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongToIntFunction;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.EvaluatorType;
+import com.example.poker_api.eval.ReferenceEvaluator;
+import com.example.poker_api.session.HandSession;
+
+/**
+ * Command line mode that checks the fast evaluators against
+ * ReferenceEvaluator, first on every five card hand and then on random
+ * seven card hands. Any hand where an evaluator disagrees is printed
+ * with its cards and both strengths, and the mode exits with status 1
+ * if there were any
+ *
+ * The work is split into units that the worker threads take in turn:
+ * the five card hands by their two highest cards, and the random hands
+ * in chunks that each have their own seeded generator, so a run with a
+ * given seed checks the same hands whatever the number of threads
+ *
+ * Started with: --mode=cross-check [--hands=1000000] [--seed=1] [--report=20] [--threads=N]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EvaluatorCrossCheck {
+
+    /** The number of random hands in a chunk */
+    private static final int CHUNK_HANDS = 1 << 14;
+
+    /** The number of cards of the exhaustive hands */
+    private static final int FIVE_CARDS = 5;
+
+    /** The evaluators checked against the reference, by name */
+    private final Map<String, LongToIntFunction> evaluators;
+
+    /** The number of worker threads */
+    private final int threads;
+
+    /** The most disagreements to print */
+    private final int report;
+
+    /** The number of disagreements found so far */
+    private final AtomicLong mismatches = new AtomicLong();
+
+    /**
+     * Constructs a cross check of some evaluators
+     * @param evaluators the evaluators to check, by name
+     * @param threads the number of worker threads
+     * @param report the most disagreements to print
+     */
+    public EvaluatorCrossCheck(Map<String, LongToIntFunction> evaluators, int threads, int report) {
+        this.evaluators = evaluators;
+        this.threads = threads;
+        this.report = report;
+    }
+
+    /**
+     * Runs the cross check from the command line
+     * @param args the options of the cross check
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void run(String[] args) throws InterruptedException {
+        Options options = new Options(args);
+        EvaluatorCrossCheck check = new EvaluatorCrossCheck(evaluators(), options.threads(), options.getInt("report", 20));
+        System.out.println("Checking " + String.join(", ", check.evaluators.keySet()) + " against the reference");
+
+        long start = System.nanoTime();
+        long hands = check.checkAllFiveCardHands();
+        System.out.printf("Checked %,d five card hands in %.1f s%n", hands, (System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        hands = check.checkRandomHands(options.getLong("hands", 1_000_000), options.getLong("seed", 1));
+        System.out.printf("Checked %,d random seven card hands in %.1f s%n", hands, (System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%,d disagreements%n", check.getMismatches());
+        if (check.getMismatches() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method to get the evaluators the command line checks
+     * @return the fast evaluators, by name
+     */
+    public static Map<String, LongToIntFunction> evaluators() {
+        Map<String, LongToIntFunction> evaluators = new LinkedHashMap<>();
+        for (EvaluatorType type : EvaluatorType.values()) {
+            if (type != EvaluatorType.REFERENCE) {
+                evaluators.put(type.getName(), type.create()::evaluate);
+            }
+        }
+        // Adds the cards one at a time so the rank sets are built up as a session does
+        evaluators.put("session", cards -> {
+            HandSession session = new HandSession("cross-check");
+            int strength = 0;
+            for (long rest = cards; rest != 0; rest &= rest - 1) {
+                strength = session.add(rest & -rest);
+            }
+            return strength;
+        });
+        return evaluators;
+    }
+
+    /**
+     * Method to get the number of disagreements found so far
+     * @return the number of hands and evaluators that disagreed with the reference
+     */
+    public long getMismatches() {
+        return mismatches.get();
+    }
+
+    /**
+     * Method to check every five card hand
+     * @return the number of hands checked
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public long checkAllFiveCardHands() throws InterruptedException {
+        return runUnits(Cards.DECK_SIZE * Cards.DECK_SIZE, group -> {
+            int highest = group / Cards.DECK_SIZE;
+            int second = group % Cards.DECK_SIZE;
+            int rest = FIVE_CARDS - 2;
+            if (second >= highest || second < rest) {
+                return 0;
+            }
+            long fixed = 1L << highest | 1L << second;
+            long checked = 0;
+            // Gosper's hack, as in HandDistribution
+            for (long low = (1L << rest) - 1; low < 1L << second; checked++) {
+                check(fixed | low);
+                long lowest = low & -low;
+                long ripple = low + lowest;
+                low = ripple | ((ripple ^ low) >>> 2) >>> Long.numberOfTrailingZeros(lowest);
+            }
+            return checked;
+        });
+    }
+
+    /**
+     * Method to check random seven card hands
+     * @param hands the number of hands to check
+     * @param seed the seed of the random hands
+     * @return the number of hands checked
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public long checkRandomHands(long hands, long seed) throws InterruptedException {
+        long chunks = (hands + CHUNK_HANDS - 1) / CHUNK_HANDS;
+        return runUnits(chunks, chunk -> {
+            SplittableRandom random = new SplittableRandom(seed + chunk);
+            long count = Math.min(CHUNK_HANDS, hands - chunk * CHUNK_HANDS);
+            for (long i = 0; i < count; i++) {
+                long cards = 0;
+                while (Long.bitCount(cards) < 7) {
+                    cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+                }
+                check(cards);
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Helper method to check one hand with every evaluator
+     * @param cards the set of cards of the hand
+     */
+    private void check(long cards) {
+        int expected = ReferenceEvaluator.evaluate(cards);
+        for (Map.Entry<String, LongToIntFunction> evaluator : evaluators.entrySet()) {
+            int actual = evaluator.getValue().applyAsInt(cards);
+            if (actual != expected && mismatches.incrementAndGet() <= report) {
+                int suit = Math.max(BitmaskEvaluator.flushSuit(cards), 0);
+                System.out.printf("%s disagrees on %s: %s (0x%x) but the reference has %s (0x%x)%n",
+                        evaluator.getKey(), Cards.toList(cards), BitmaskEvaluator.describe(actual, suit), actual,
+                        BitmaskEvaluator.describe(expected, suit), expected);
+            }
+        }
+    }
+
+    /**
+     * Helper method to share numbered units of work out between the worker threads
+     * @param units the number of units
+     * @param unit does one unit and returns the number of hands it checked
+     * @return the number of hands checked
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    private long runUnits(long units, Unit unit) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicLong checked = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = Thread.ofPlatform().name("cross-check-" + t).start(() -> {
+                long count = 0;
+                for (long u = next.getAndIncrement(); u < units; u = next.getAndIncrement()) {
+                    count += unit.check((int) u);
+                }
+                checked.addAndGet(count);
+            });
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return checked.get();
+    }
+
+    /**
+     * A unit of work of the cross check
+     */
+    @FunctionalInterface
+    private interface Unit {
+
+        /**
+         * Checks the hands of one unit
+         * @param index the index of the unit
+         * @return the number of hands checked
+         */
+        long check(int index);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.poker_api.cli;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+
+/**
+ * Command line mode that evaluates every hand of a number of cards from
+ * the deck and counts how often each category comes up. With seven cards
+ * that is all 133,784,560 hands, so it also measures the throughput of
+ * the evaluator
+ *
+ * The hands are split by their two highest cards. The rest of each hand
+ * is walked in colex order by Gosper's hack, which steps from one set of
+ * cards to the next of the same size without creating any objects. The
+ * groups are shared out on a ForkJoin pool and each task counts into its
+ * own array, so the threads only meet when the counts are added up
+ *
+ * Started with: --mode=distribution [--cards=7] [--threads=N]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class HandDistribution {
+
+    /** The fewest cards of a hand */
+    public static final int MIN_CARDS = 5;
+
+    /** The most cards of a hand */
+    public static final int MAX_CARDS = 7;
+
+    /** The number of cards fixed by a group, the two highest */
+    private static final int FIXED_CARDS = 2;
+
+    /** The number of groups a task evaluates without splitting */
+    private static final int GROUPS_PER_TASK = 8;
+
+    /** The number of cards of each hand */
+    private final int cards;
+
+    /** The number of worker threads */
+    private final int threads;
+
+    /**
+     * Constructs an enumerator of every hand of a number of cards
+     * @param cards the number of cards of each hand, 5 to 7
+     * @param threads the number of worker threads
+     * @throws IllegalArgumentException if the number of cards is out of range
+     */
+    public HandDistribution(int cards, int threads) {
+        if (cards < MIN_CARDS || cards > MAX_CARDS) {
+            throw new IllegalArgumentException("Hands need " + MIN_CARDS + " to " + MAX_CARDS + " cards");
+        }
+        this.cards = cards;
+        this.threads = threads;
+    }
+
+    /**
+     * Runs the enumeration from the command line
+     * @param args the options of the enumeration
+     */
+    public static void run(String[] args) {
+        Options options = new Options(args);
+        HandDistribution distribution = new HandDistribution(options.getInt("cards", MAX_CARDS), options.threads());
+
+        long start = System.nanoTime();
+        long[] counts = distribution.count();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long hands = 0;
+        for (long count : counts) {
+            hands += count;
+        }
+        for (HandCategory category : HandCategory.values()) {
+            long count = counts[category.ordinal()];
+            System.out.printf("%-16s %,13d %9.5f%%%n", category.getLabel(), count, 100.0 * count / hands);
+        }
+        System.out.printf("Evaluated %,d hands in %.3f s (%,.0f hands/s) with %d threads%n",
+                hands, seconds, hands / seconds, distribution.threads);
+    }
+
+    /**
+     * Method to evaluate every hand
+     * @return the number of hands of each category, indexed by ordinal
+     */
+    public long[] count() {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Groups(0, groups()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Helper method to get the number of groups
+     * A group is a highest card and a second highest card below it
+     * @return the number of groups, indexed as in evaluateGroup
+     */
+    private static int groups() {
+        return Cards.DECK_SIZE * Cards.DECK_SIZE;
+    }
+
+    /**
+     * Helper method to evaluate every hand with the same two highest cards
+     * @param group the highest card times 52 plus the second highest card
+     * @param counts the counts of each category to add to
+     */
+    private void evaluateGroup(int group, long[] counts) {
+        int highest = group / Cards.DECK_SIZE;
+        int second = group % Cards.DECK_SIZE;
+        int rest = cards - FIXED_CARDS;
+        if (second >= highest || second < rest) {
+            return;
+        }
+        long fixed = 1L << highest | 1L << second;
+        long limit = 1L << second;
+        // Gosper's hack: the next larger set with the same number of cards
+        for (long low = (1L << rest) - 1; low < limit; ) {
+            counts[BitmaskEvaluator.category(BitmaskEvaluator.evaluate(fixed | low)).ordinal()]++;
+            long lowest = low & -low;
+            long ripple = low + lowest;
+            low = ripple | ((ripple ^ low) >>> 2) >>> Long.numberOfTrailingZeros(lowest);
+        }
+    }
+
+    /**
+     * Task that evaluates a range of groups, splitting it in half while it is large
+     */
+    private final class Groups extends RecursiveTask<long[]> {
+
+        /** Version of the serialized form, RecursiveTask is Serializable */
+        private static final long serialVersionUID = 1L;
+
+        /** The first group of the range */
+        private final int first;
+
+        /** The group after the last one of the range */
+        private final int end;
+
+        /**
+         * Constructs the task for a range of groups
+         * @param first the first group of the range
+         * @param end the group after the last one of the range
+         */
+        Groups(int first, int end) {
+            this.first = first;
+            this.end = end;
+        }
+
+        /**
+         * Evaluates the range, or the two halves of it in parallel
+         * @return the number of hands of each category in the range
+         */
+        @Override
+        protected long[] compute() {
+            if (end - first <= GROUPS_PER_TASK) {
+                long[] counts = new long[HandCategory.values().length];
+                for (int group = first; group < end; group++) {
+                    evaluateGroup(group, counts);
+                }
+                return counts;
+            }
+            int middle = (first + end) >>> 1;
+            Groups upper = new Groups(middle, end);
+            upper.fork();
+            long[] counts = new Groups(first, middle).compute();
+            long[] upperCounts = upper.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += upperCounts[i];
+            }
+            return counts;
+        }
+    }
+}
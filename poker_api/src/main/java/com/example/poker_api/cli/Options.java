@@ -0,0 +1,94 @@
+package com.example.poker_api.cli;
+
+/**
+ * Class to read the --name=value options of the command line modes
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class Options {
+
+    /** The arguments passed to the application */
+    private final String[] args;
+
+    /**
+     * Constructs the options from the arguments of the application
+     * @param args the arguments passed to the application
+     */
+    public Options(String[] args) {
+        this.args = args;
+    }
+
+    /**
+     * Method to get the value of an option
+     * @param name the name of the option without the leading dashes
+     * @param defaultValue the value to use if the option is not given
+     * @return the value of the option
+     */
+    public String get(String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Method to check whether a flag is given, as --name or --name=true
+     * @param name the name of the flag without the leading dashes
+     * @return true if the flag is given
+     */
+    public boolean has(String name) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return true;
+            }
+        }
+        return Boolean.parseBoolean(get(name, "false"));
+    }
+
+    /**
+     * Method to get the value of an option that must be given
+     * @param name the name of the option without the leading dashes
+     * @return the value of the option
+     * @throws IllegalArgumentException if the option is not given
+     */
+    public String require(String name) {
+        String value = get(name, null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option --" + name + "=");
+        }
+        return value;
+    }
+
+    /**
+     * Method to get the int value of an option
+     * @param name the name of the option without the leading dashes
+     * @param defaultValue the value to use if the option is not given
+     * @return the value of the option
+     */
+    public int getInt(String name, int defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Method to get the long value of an option
+     * @param name the name of the option without the leading dashes
+     * @param defaultValue the value to use if the option is not given
+     * @return the value of the option
+     */
+    public long getLong(String name, long defaultValue) {
+        String value = get(name, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Method to get the number of worker threads to use
+     * @return the value of --threads, or the number of processors
+     */
+    public int threads() {
+        return getInt("threads", Runtime.getRuntime().availableProcessors());
+    }
+}
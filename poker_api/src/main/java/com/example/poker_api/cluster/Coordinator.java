@@ -0,0 +1,404 @@
+package com.example.poker_api.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.poker_api.PokerApiApplication;
+import com.example.poker_api.cli.Options;
+import com.example.poker_api.equity.EquitySimulation;
+import com.example.poker_api.equity.StopRule;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Command line mode that splits an equity computation over worker processes
+ * The runouts are split into shards that are queued up for the workers
+ * connected over local sockets. Each worker has a thread here that sends
+ * it one shard at a time and waits for its partial counts, which are
+ * merged as they come in. If a worker dies or takes too long on a shard
+ * its connection is dropped and the shard goes back to the front of the
+ * queue for another worker, so a job finishes as long as one worker is left
+ *
+ * Workers can be started by hand on the same box with --mode=worker, or
+ * the coordinator can start them itself with the same Java and class path
+ *
+ * Started with: --mode=coordinator --players=AhKh,QcQd [--board=2c7dJh]
+ * [--iterations=N | --exhaustive] [--shards=64] [--workers=N] [--port=9191]
+ * [--seed=1] [--shard-timeout=600]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class Coordinator implements AutoCloseable {
+
+    /** The port the coordinator listens on by default */
+    public static final int DEFAULT_PORT = 9191;
+
+    /** The number of shards a job is split into by default */
+    public static final int DEFAULT_SHARDS = 64;
+
+    /** The socket accepting workers */
+    private final ServerSocket server;
+
+    /** The longest a worker can take on a shard in milliseconds, 0 for no limit */
+    private final int shardTimeoutMs;
+
+    /** The shards waiting for a worker */
+    private final BlockingDeque<Shard> pending = new LinkedBlockingDeque<>();
+
+    /** The connections of the workers */
+    private final Set<Socket> workers = ConcurrentHashMap.newKeySet();
+
+    /** The number of shards handed to another worker after one failed */
+    private final AtomicInteger reassigned = new AtomicInteger();
+
+    /** The job being run, or null between jobs */
+    private volatile Job job;
+
+    /**
+     * Constructs a coordinator and starts accepting workers
+     * @param port the port to listen on, 0 for any free port
+     * @param shardTimeoutMs the longest a worker can take on a shard in milliseconds, 0 for no limit
+     * @throws IOException if the port could not be bound
+     */
+    public Coordinator(int port, int shardTimeoutMs) throws IOException {
+        server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.shardTimeoutMs = shardTimeoutMs;
+        Thread.ofPlatform().name("coordinator-accept").daemon(true).start(this::acceptForever);
+    }
+
+    /**
+     * Runs a coordinator from the command line and prints the equities
+     * @param args the options of the coordinator
+     * @throws Exception if the job could not be run
+     */
+    public static void run(String[] args) throws Exception {
+        Options options = new Options(args);
+        long board = parseCards(options.get("board", ""));
+        String[] names = options.require("players").split(",");
+        long[] holeCards = new long[names.length];
+        long dealt = board;
+        for (int p = 0; p < names.length; p++) {
+            holeCards[p] = parseCards(names[p]);
+            if (Long.bitCount(holeCards[p]) != 2 || (dealt & holeCards[p]) != 0) {
+                throw new IllegalArgumentException("Each player needs two cards not dealt elsewhere: " + names[p]);
+            }
+            dealt |= holeCards[p];
+        }
+        boolean exhaustive = options.has("exhaustive");
+        List<Shard> shards = exhaustive
+                ? enumerationShards(board, holeCards, options.getInt("shards", DEFAULT_SHARDS))
+                : simulationShards(board, holeCards, options.getLong("iterations", 10_000_000),
+                        options.getInt("shards", DEFAULT_SHARDS), options.getLong("seed", 1));
+
+        int timeout = (int) TimeUnit.SECONDS.toMillis(options.getInt("shard-timeout", 600));
+        try (Coordinator coordinator = new Coordinator(options.getInt("port", DEFAULT_PORT), timeout)) {
+            List<Process> processes = coordinator.spawnWorkers(options.getInt("workers", 0));
+            System.out.println("Coordinator listening on port " + coordinator.getPort());
+            long start = System.nanoTime();
+            try {
+                ShardResult result = coordinator.execute(shards);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                for (int p = 0; p < names.length; p++) {
+                    // An enumeration is exact, a simulation gets its 95% confidence interval
+                    double error = exhaustive ? 0 : StopRule.Z_95 * result.getStandardError(p);
+                    System.out.printf("%s: equity %.6f (+/- %.6f), %,d wins, %,d ties%n", names[p],
+                            result.getEquity(p), error, result.getWins(p), result.getTies(p));
+                }
+                System.out.printf("Ran %,d runouts in %d shards in %.3f s, %d shards reassigned%n",
+                        result.getTrials(), shards.size(), seconds, coordinator.getReassigned());
+            } finally {
+                processes.forEach(Process::destroy);
+            }
+        }
+    }
+
+    /**
+     * Method to split a full enumeration of the runouts into shards
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @param shards the most shards to split into
+     * @return the shards, covering every runout once
+     */
+    public static List<Shard> enumerationShards(long board, long[] holeCards, int shards) {
+        long runouts = new EquitySimulation(board, holeCards).getRunouts();
+        return split(Shard.Kind.ENUMERATE, board, holeCards, runouts, shards, null);
+    }
+
+    /**
+     * Method to split a number of random runouts into shards with their own seeds
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @param iterations the number of runouts
+     * @param shards the most shards to split into
+     * @param seed the seed the shard seeds are drawn from
+     * @return the shards
+     */
+    public static List<Shard> simulationShards(long board, long[] holeCards, long iterations, int shards, long seed) {
+        return split(Shard.Kind.SIMULATE, board, holeCards, iterations, shards, new SplittableRandom(seed));
+    }
+
+    /**
+     * Helper method to split runouts evenly into shards
+     * @param kind the kind of work
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @param runouts the number of runouts
+     * @param shards the most shards to split into
+     * @param seeds the source of seeds, or null to number the runouts instead
+     * @return the shards
+     * @throws IllegalArgumentException if the board has more than five cards or there is nothing to split
+     */
+    private static List<Shard> split(Shard.Kind kind, long board, long[] holeCards,
+            long runouts, int shards, SplittableRandom seeds) {
+        if (runouts < 1 || shards < 1) {
+            throw new IllegalArgumentException("A job needs at least one runout and one shard");
+        }
+        if (Long.bitCount(board) > EquitySimulation.BOARD_CARDS) {
+            throw new IllegalArgumentException("A board holds at most " + EquitySimulation.BOARD_CARDS + " cards");
+        }
+        int count = (int) Math.min(shards, runouts);
+        List<Shard> result = new ArrayList<>(count);
+        long first = 0;
+        for (int i = 0; i < count; i++) {
+            long size = runouts / count + (i < runouts % count ? 1 : 0);
+            long start = seeds == null ? first : seeds.nextLong();
+            result.add(new Shard(i, kind, board, holeCards, start, size));
+            first += size;
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to read a string of cards such as "2c7dJh"
+     * @param cards the cards with no separators
+     * @return the set of cards
+     * @throws IllegalArgumentException if a card is not valid or is repeated
+     */
+    private static long parseCards(String cards) {
+        if (cards.length() % 2 != 0) {
+            throw new IllegalArgumentException("Cards must be two characters each: " + cards);
+        }
+        long mask = 0;
+        for (int i = 0; i < cards.length(); i += 2) {
+            long card = 1L << Cards.parse(cards.substring(i, i + 2));
+            if ((mask & card) != 0) {
+                throw new IllegalArgumentException("Duplicate card: " + cards.substring(i, i + 2));
+            }
+            mask |= card;
+        }
+        return mask;
+    }
+
+    /**
+     * Starts worker processes on this box with the same Java and class path as this one
+     * @param count the number of workers to start
+     * @return the worker processes
+     * @throws IOException if a process could not be started
+     */
+    public List<Process> spawnWorkers(int count) throws IOException {
+        List<Process> processes = new ArrayList<>();
+        if (count < 1) {
+            return processes;
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            // Started from the packaged jar, which knows its own main class
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(PokerApiApplication.class.getName());
+        }
+        command.add("--mode=worker");
+        command.add("--coordinator=" + server.getInetAddress().getHostAddress() + ":" + getPort());
+        for (int i = 0; i < count; i++) {
+            processes.add(new ProcessBuilder(command).inheritIO().start());
+        }
+        return processes;
+    }
+
+    /**
+     * Runs a job on the connected workers and merges the results
+     * Only one job runs at a time, and it waits for workers to connect if none are
+     * @param shards the shards of the job
+     * @return the merged counts of every shard
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public synchronized ShardResult execute(List<Shard> shards) throws InterruptedException {
+        job = new Job(shards.size(), new ShardResult(shards.isEmpty() ? 0 : shards.get(0).getPlayers()));
+        pending.addAll(shards);
+        try {
+            return job.await();
+        } finally {
+            pending.clear();
+            job = null;
+        }
+    }
+
+    /**
+     * Method to get the port the coordinator is listening on
+     * @return the port the coordinator is listening on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Method to get the number of workers connected
+     * @return the number of workers
+     */
+    public int getWorkers() {
+        return workers.size();
+    }
+
+    /**
+     * Method to get the number of shards handed to another worker after one failed
+     * @return the number of shards reassigned
+     */
+    public int getReassigned() {
+        return reassigned.get();
+    }
+
+    /**
+     * Closes the coordinator and the connections of its workers,
+     * which makes the workers exit
+     * @throws IOException if the socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket worker : workers) {
+            worker.close();
+        }
+    }
+
+    /**
+     * Helper method to accept workers until the coordinator is closed
+     */
+    private void acceptForever() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(shardTimeoutMs);
+                workers.add(socket);
+                Thread.ofPlatform().name("coordinator-worker-" + socket.getPort()).daemon(true)
+                        .start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    System.err.println("Could not accept a worker: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to feed shards to one worker until its connection fails
+     * A shard that is out when the connection fails goes back on the queue
+     * @param socket the connection of the worker
+     */
+    private void serve(Socket socket) {
+        Shard shard = null;
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                shard = pending.take();
+                shard.write(out);
+                out.flush();
+                ShardResult result = ShardResult.read(in);
+                Job current = job;
+                if (current != null) {
+                    current.complete(result);
+                }
+                shard = null;
+            }
+        } catch (IOException e) {
+            if (shard != null && !server.isClosed()) {
+                System.err.println("Worker on port " + socket.getPort() + " failed on shard "
+                        + shard.getId() + ", reassigning it: " + e);
+                reassigned.incrementAndGet();
+                pending.addFirst(shard);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.remove(socket);
+        }
+    }
+
+    /**
+     * Private inner class to represent the progress of the running job
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    private static class Job {
+
+        /** Whether each shard has been merged */
+        private final boolean[] done;
+
+        /** The number of shards not yet merged */
+        private int remaining;
+
+        /** The merged counts of the shards so far */
+        private final ShardResult result;
+
+        /**
+         * Constructs the progress of a job
+         * @param shards the number of shards of the job
+         * @param result the empty result to merge into
+         */
+        public Job(int shards, ShardResult result) {
+            done = new boolean[shards];
+            remaining = shards;
+            this.result = result;
+        }
+
+        /**
+         * Merges the result of a shard, once even if it is sent twice
+         * @param shard the result of the shard
+         */
+        public synchronized void complete(ShardResult shard) {
+            if (shard.getId() >= 0 && shard.getId() < done.length && !done[shard.getId()]) {
+                done[shard.getId()] = true;
+                result.add(shard);
+                if (--remaining == 0) {
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Waits for every shard to be merged
+         * @return the merged counts
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public synchronized ShardResult await() throws InterruptedException {
+            while (remaining > 0) {
+                wait();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.poker_api.cluster;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import com.example.poker_api.equity.EquitySimulation;
+
+/**
+ * Class to represent one shard of a distributed equity computation
+ * A shard is either a range of runouts to enumerate or a number of
+ * random runouts to deal from its own seed, so it gives the same result
+ * whichever worker runs it and can be handed to another if one fails
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class Shard {
+
+    /**
+     * Enum of the kinds of work a shard can hold
+     */
+    public enum Kind {
+
+        /** Deals random runouts, start is the seed */
+        SIMULATE,
+
+        /** Enumerates runouts, start is the index of the first */
+        ENUMERATE
+    }
+
+    /** The index of the shard within its job */
+    private final int id;
+
+    /** The kind of work */
+    private final Kind kind;
+
+    /** The set of cards already on the board */
+    private final long board;
+
+    /** The set of hole cards of each player */
+    private final long[] holeCards;
+
+    /** The seed of the random runouts or the index of the first runout */
+    private final long start;
+
+    /** The number of runouts */
+    private final long count;
+
+    /**
+     * Constructs a shard
+     * @param id the index of the shard within its job
+     * @param kind the kind of work
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @param start the seed of the random runouts or the index of the first runout
+     * @param count the number of runouts
+     */
+    public Shard(int id, Kind kind, long board, long[] holeCards, long start, long count) {
+        this.id = id;
+        this.kind = kind;
+        this.board = board;
+        this.holeCards = holeCards;
+        this.start = start;
+        this.count = count;
+    }
+
+    /**
+     * Runs the shard
+     * @return the partial counts of the shard
+     * @throws IllegalArgumentException if the cards or the range are not valid
+     */
+    public ShardResult run() {
+        EquitySimulation simulation = new EquitySimulation(board, holeCards);
+        if (kind == Kind.SIMULATE) {
+            simulation.run(count, new SplittableRandom(start));
+        } else {
+            simulation.enumerate(start, count);
+        }
+        return new ShardResult(id, simulation);
+    }
+
+    /**
+     * Writes the shard to a stream
+     * @param out the stream to write to
+     * @throws IOException if the shard could not be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeByte(kind.ordinal());
+        out.writeLong(board);
+        out.writeInt(holeCards.length);
+        for (long cards : holeCards) {
+            out.writeLong(cards);
+        }
+        out.writeLong(start);
+        out.writeLong(count);
+    }
+
+    /**
+     * Reads a shard written by write
+     * @param in the stream to read from
+     * @return the shard
+     * @throws IOException if the shard could not be read
+     */
+    public static Shard read(DataInput in) throws IOException {
+        int id = in.readInt();
+        Kind kind = Kind.values()[in.readByte()];
+        long board = in.readLong();
+        long[] holeCards = new long[in.readInt()];
+        for (int p = 0; p < holeCards.length; p++) {
+            holeCards[p] = in.readLong();
+        }
+        return new Shard(id, kind, board, holeCards, in.readLong(), in.readLong());
+    }
+
+    /**
+     * Method to get the index of the shard within its job
+     * @return the index of the shard
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the kind of work
+     * @return the kind of work
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Method to get the number of players
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return holeCards.length;
+    }
+
+    /**
+     * Method to get the number of runouts
+     * @return the number of runouts
+     */
+    public long getCount() {
+        return count;
+    }
+}
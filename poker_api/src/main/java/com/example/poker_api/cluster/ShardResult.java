@@ -0,0 +1,205 @@
+package com.example.poker_api.cluster;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.example.poker_api.equity.EquitySimulation;
+
+/**
+ * Class to represent the partial counts of one or more shards
+ * Holds the number of trials along with each player's wins, ties and
+ * the sums of their scores, which add up across shards, so the results
+ * of every worker can be merged into the result of the whole job
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class ShardResult {
+
+    /** The index of the shard, or -1 once results are merged */
+    private final int id;
+
+    /** The number of trials */
+    private long trials;
+
+    /** The number of trials each player won outright */
+    private final long[] wins;
+
+    /** The number of trials each player tied for the win */
+    private final long[] ties;
+
+    /** The sum of each player's scores */
+    private final double[] scores;
+
+    /** The sum of the squares of each player's scores */
+    private final double[] squares;
+
+    /**
+     * Constructs an empty result to merge shards into
+     * @param players the number of players
+     */
+    public ShardResult(int players) {
+        this(-1, players);
+    }
+
+    /**
+     * Constructs the result of a shard from its simulation
+     * @param id the index of the shard
+     * @param simulation the simulation the shard ran
+     */
+    public ShardResult(int id, EquitySimulation simulation) {
+        this(id, simulation.getPlayers());
+        trials = simulation.getTrials();
+        for (int p = 0; p < wins.length; p++) {
+            wins[p] = simulation.getWins(p);
+            ties[p] = simulation.getTies(p);
+            scores[p] = simulation.getScoreSum(p);
+            squares[p] = simulation.getSquareSum(p);
+        }
+    }
+
+    /**
+     * Helper constructor for an empty result of a shard
+     * @param id the index of the shard
+     * @param players the number of players
+     */
+    private ShardResult(int id, int players) {
+        this(id, 0, new long[players], new long[players], new double[players], new double[players]);
+    }
+
+    /**
+     * Helper constructor that takes every field
+     * @param id the index of the shard
+     * @param trials the number of trials
+     * @param wins the number of trials each player won outright
+     * @param ties the number of trials each player tied for the win
+     * @param scores the sum of each player's scores
+     * @param squares the sum of the squares of each player's scores
+     */
+    private ShardResult(int id, long trials, long[] wins, long[] ties, double[] scores, double[] squares) {
+        this.id = id;
+        this.trials = trials;
+        this.wins = wins;
+        this.ties = ties;
+        this.scores = scores;
+        this.squares = squares;
+    }
+
+    /**
+     * Adds the counts of another result to this one
+     * @param other the result to add
+     * @throws IllegalArgumentException if the results have different numbers of players
+     */
+    public void add(ShardResult other) {
+        if (other.wins.length != wins.length) {
+            throw new IllegalArgumentException("Results of " + other.wins.length + " and "
+                    + wins.length + " players cannot be merged");
+        }
+        trials += other.trials;
+        for (int p = 0; p < wins.length; p++) {
+            wins[p] += other.wins[p];
+            ties[p] += other.ties[p];
+            scores[p] += other.scores[p];
+            squares[p] += other.squares[p];
+        }
+    }
+
+    /**
+     * Writes the result to a stream
+     * @param out the stream to write to
+     * @throws IOException if the result could not be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeInt(wins.length);
+        out.writeLong(trials);
+        for (int p = 0; p < wins.length; p++) {
+            out.writeLong(wins[p]);
+            out.writeLong(ties[p]);
+            out.writeDouble(scores[p]);
+            out.writeDouble(squares[p]);
+        }
+    }
+
+    /**
+     * Reads a result written by write
+     * @param in the stream to read from
+     * @return the result
+     * @throws IOException if the result could not be read
+     */
+    public static ShardResult read(DataInput in) throws IOException {
+        ShardResult result = new ShardResult(in.readInt(), in.readInt());
+        result.trials = in.readLong();
+        for (int p = 0; p < result.wins.length; p++) {
+            result.wins[p] = in.readLong();
+            result.ties[p] = in.readLong();
+            result.scores[p] = in.readDouble();
+            result.squares[p] = in.readDouble();
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the index of the shard
+     * @return the index of the shard, or -1 once results are merged
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the number of players
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return wins.length;
+    }
+
+    /**
+     * Method to get the number of trials
+     * @return the number of trials
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Method to get the number of trials a player won outright
+     * @param player the index of the player
+     * @return the number of wins
+     */
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    /**
+     * Method to get the number of trials a player tied for the win
+     * @param player the index of the player
+     * @return the number of ties
+     */
+    public long getTies(int player) {
+        return ties[player];
+    }
+
+    /**
+     * Method to get the equity of a player
+     * @param player the index of the player
+     * @return the share of the pot the player wins on average, from 0 to 1
+     */
+    public double getEquity(int player) {
+        return trials == 0 ? 0 : scores[player] / trials;
+    }
+
+    /**
+     * Method to get the standard error of a player's equity if the trials were random
+     * @param player the index of the player
+     * @return the standard error, 0 until there are two trials
+     */
+    public double getStandardError(int player) {
+        if (trials < 2) {
+            return 0;
+        }
+        double variance = (squares[player] - scores[player] * getEquity(player)) / (trials - 1);
+        return Math.sqrt(Math.max(variance, 0) / trials);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.poker_api.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+import com.example.poker_api.cli.Options;
+
+/**
+ * Command line mode that runs shards for a coordinator
+ * Connects to the coordinator, then runs each shard it is sent and
+ * writes back the partial counts, one shard at a time, until the
+ * coordinator closes the connection
+ *
+ * Started with: --mode=worker [--coordinator=localhost:9191]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class Worker {
+
+    /** The host of the coordinator */
+    private final String host;
+
+    /** The port of the coordinator */
+    private final int port;
+
+    /**
+     * Constructs a worker for a coordinator
+     * @param host the host of the coordinator
+     * @param port the port of the coordinator
+     */
+    public Worker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs a worker from the command line
+     * @param args the options of the worker
+     * @throws IOException if the coordinator could not be reached
+     */
+    public static void run(String[] args) throws IOException {
+        String address = new Options(args).get("coordinator", "localhost:" + Coordinator.DEFAULT_PORT);
+        int colon = address.lastIndexOf(':');
+        new Worker(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1))).serve();
+    }
+
+    /**
+     * Runs shards until the coordinator closes the connection
+     * @return the number of shards run
+     * @throws IOException if the connection fails
+     */
+    public long serve() throws IOException {
+        long shards = 0;
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                Shard shard;
+                try {
+                    shard = Shard.read(in);
+                } catch (EOFException e) {
+                    return shards;
+                }
+                shard.run().write(out);
+                out.flush();
+                shards++;
+            }
+        }
+    }
+}
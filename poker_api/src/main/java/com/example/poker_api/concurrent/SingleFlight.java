@@ -0,0 +1,118 @@
+package com.example.poker_api.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Class to share one computation between concurrent requests for the same key
+ * The first caller for a key runs the computation, and every caller that
+ * arrives while it is running waits for and gets the same result. Once
+ * the computation is done the key is forgotten, so nothing is cached
+ * after the fact. Each key has its own future, so callers only ever
+ * wait on the key they asked for
+ *
+ * @author Tristan Curtis (tmc3221)
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public class SingleFlight<K, V> {
+
+    /** The computations in progress by key */
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Class to hold a result along with if it was shared
+     *
+     * @author Tristan Curtis (tmc3221)
+     *
+     * @param <V> the type of the result
+     */
+    public static class Result<V> {
+
+        /** The result of the computation */
+        private final V value;
+
+        /** If the result came from a computation started by another caller */
+        private final boolean shared;
+
+        /**
+         * Constructs a result
+         * @param value the result of the computation
+         * @param shared if the result came from another caller's computation
+         */
+        public Result(V value, boolean shared) {
+            this.value = value;
+            this.shared = shared;
+        }
+
+        /**
+         * Method to get the result of the computation
+         * @return the result of the computation
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Method to check if the result was shared
+         * @return if the result came from another caller's computation
+         */
+        public boolean isShared() {
+            return shared;
+        }
+    }
+
+    /**
+     * Runs a computation, or joins the one already running for the key
+     * @param key the canonical key of the computation
+     * @param computation the computation to run if none is running for the key
+     * @return the result of the computation and if it was shared
+     * @throws RuntimeException the exception thrown by the computation, for every caller
+     */
+    public Result<V> execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return new Result<>(join(running), true);
+        }
+        try {
+            mine.complete(computation.get());
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return new Result<>(join(mine), false);
+    }
+
+    /**
+     * Method to get the number of computations in progress
+     * @return the number of keys being computed
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * Helper method to wait for a computation and rethrow what it threw
+     * @param future the computation
+     * @return the result of the computation
+     */
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
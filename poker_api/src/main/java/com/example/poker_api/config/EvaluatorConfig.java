@@ -0,0 +1,46 @@
+package com.example.poker_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.poker_api.eval.EvaluatorType;
+import com.example.poker_api.eval.HandEvaluator;
+import com.example.poker_api.metrics.PokerMetrics;
+import com.example.poker_api.metrics.ShadowEvaluator;
+
+/**
+ * Configuration class for the engine the endpoints evaluate hands with
+ * The engine is picked with poker.evaluator.engine. Naming a second
+ * engine in poker.evaluator.shadow runs it alongside the first on a
+ * sampled share of hands to compare their results and latency
+ * The engine evaluates the hands of bestHand, batch, stream and
+ * showdown. Nuts, outs, equity, range equity, the flop database and
+ * sessions stay on BitmaskEvaluator, since they build on its rank sets
+ * or evaluate millions of runouts in a tight loop
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Configuration
+public class EvaluatorConfig {
+
+    /**
+     * The evaluator the endpoints use
+     * @param engine the name of the engine whose results are used
+     * @param shadow the name of the engine to run alongside it, or empty for none
+     * @param sampleRate the share of hands also evaluated by the shadow engine
+     * @param metrics the metrics the shadow mode records to
+     * @return the evaluator
+     * @throws IllegalArgumentException if an engine name is not known
+     */
+    @Bean
+    public HandEvaluator handEvaluator(@Value("${poker.evaluator.engine:bitmask}") String engine,
+            @Value("${poker.evaluator.shadow:}") String shadow,
+            @Value("${poker.evaluator.shadow-rate:0.01}") double sampleRate, PokerMetrics metrics) {
+        EvaluatorType primary = EvaluatorType.fromName(engine);
+        if (shadow.isBlank()) {
+            return primary.create();
+        }
+        return new ShadowEvaluator(primary, EvaluatorType.fromName(shadow), sampleRate, metrics);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.poker_api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the threads the Poker API runs work on
+ * The execution mode is switched with spring.threads.virtual.enabled,
+ * which Spring Boot also uses to run the Tomcat request threads
+ * as virtual threads, so web requests and equity jobs always use
+ * the same mode
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Configuration
+public class ExecutionConfig {
+
+    /** Name of the executor that equity jobs are run on */
+    public static final String EQUITY_EXECUTOR = "equityExecutor";
+
+    /**
+     * Executor for equity jobs when running on platform threads
+     * Uses a fixed pool since the jobs are bound by the CPU
+     * @param threads the number of threads in the pool, defaults
+     * to the number of processors
+     * @return the executor for equity jobs
+     */
+    @Bean(EQUITY_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService platformEquityExecutor(
+            @Value("${poker.equity.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(size, Thread.ofPlatform().name("equity-", 0).factory());
+    }
+
+    /**
+     * Executor for equity jobs when running on virtual threads
+     * Starts a new virtual thread for every job
+     * @return the executor for equity jobs
+     */
+    @Bean(EQUITY_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualEquityExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("equity-", 0).factory());
+    }
+}
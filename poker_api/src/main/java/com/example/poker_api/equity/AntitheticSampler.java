@@ -0,0 +1,45 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler that deals runouts in antithetic pairs
+ * The second runout of a pair uses the mirrored point 1 - u, so where
+ * the first picks low cards the second picks high ones. Each runout on
+ * its own is uniform, and the two tend to pull the average in
+ * opposite directions, which lowers the variance of the pair
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class AntitheticSampler implements RunoutSampler {
+
+    /** The uniform point of the first runout */
+    private final double[] point;
+
+    /** The mirrored point of the second runout */
+    private final double[] mirror;
+
+    /** Scratch space for dealing */
+    private final int[] swaps;
+
+    /**
+     * Constructs an antithetic sampler
+     * @param toDeal the number of cards in a runout
+     */
+    public AntitheticSampler(int toDeal) {
+        point = new double[toDeal];
+        mirror = new double[toDeal];
+        swaps = new int[toDeal];
+    }
+
+    @Override
+    public void sampleUnit(EquitySimulation simulation, SplittableRandom random) {
+        for (int i = 0; i < point.length; i++) {
+            point[i] = random.nextDouble();
+            mirror[i] = 1 - point[i];
+        }
+        int[] unseen = simulation.unseen();
+        simulation.score(RunoutSampler.deal(point, unseen, 0, point.length, swaps));
+        simulation.score(RunoutSampler.deal(mirror, unseen, 0, mirror.length, swaps));
+    }
+}
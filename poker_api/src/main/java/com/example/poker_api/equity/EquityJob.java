@@ -0,0 +1,174 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.poker_api.EquityResponse;
+
+/**
+ * Class to represent an equity simulation run in the background
+ * The runouts are dealt in batches until the stop rule is met, and the
+ * estimate is published after each one so it can be polled while the job
+ * runs. A cancelled job stops at the end of its current batch and keeps
+ * the estimate it had reached
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EquityJob implements Runnable {
+
+    /** The logger failed jobs are written to */
+    private static final Logger LOG = LoggerFactory.getLogger(EquityJob.class);
+
+    /** The number of runouts dealt between published estimates */
+    public static final int BATCH_SIZE = 20_000;
+
+    /**
+     * Enum of the states of a job
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    public enum Status {
+        /** Waiting for a thread */
+        QUEUED,
+        /** Dealing runouts */
+        RUNNING,
+        /** Met its stop rule */
+        DONE,
+        /** Stopped early by the client */
+        CANCELLED,
+        /** Stopped by an error */
+        FAILED
+    }
+
+    /** The id of the job */
+    private final String id;
+
+    /** The simulation the job runs */
+    private final EquitySimulation simulation;
+
+    /** The rule that decides when the job is done */
+    private final StopRule rule;
+
+    /** The state of the job */
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+
+    /** If the client asked for the job to stop */
+    private volatile boolean cancelled;
+
+    /** The latest published estimate */
+    private volatile EquityResponse estimate;
+
+    /** The message of the error that stopped the job, or null if none did */
+    private volatile String error;
+
+    /** The time the job finished, in nanoseconds, or 0 while it has not */
+    private volatile long finishedAt;
+
+    /**
+     * Constructs a job
+     * @param id the id of the job
+     * @param simulation the simulation to run
+     * @param rule the rule that decides when the job is done
+     */
+    public EquityJob(String id, EquitySimulation simulation, StopRule rule) {
+        this.id = id;
+        this.simulation = simulation;
+        this.rule = rule;
+        this.estimate = new EquityResponse(simulation);
+    }
+
+    /**
+     * Runs the simulation in batches until its stop rule is met or it is cancelled
+     * A job cancelled while it was queued is left as it is
+     */
+    @Override
+    public void run() {
+        if (!status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            finishedAt = System.nanoTime();
+            return;
+        }
+        try {
+            SplittableRandom random = new SplittableRandom();
+            long start = System.nanoTime();
+            StopRule.Reason reason;
+            while ((reason = rule.check(simulation, start)) == null) {
+                if (cancelled || Thread.currentThread().isInterrupted()) {
+                    reason = StopRule.Reason.CANCELLED;
+                    break;
+                }
+                simulation.run(Math.min(BATCH_SIZE, rule.getMaxTrials() - simulation.getTrials()), random);
+                estimate = new EquityResponse(simulation);
+            }
+            estimate = new EquityResponse(simulation, reason);
+            status.set(reason == StopRule.Reason.CANCELLED ? Status.CANCELLED : Status.DONE);
+        } catch (RuntimeException e) {
+            error = e.toString();
+            LOG.error("Equity job {} failed", id, e);
+            status.set(Status.FAILED);
+        } finally {
+            finishedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Asks the job to stop at the end of its current batch
+     */
+    public void cancel() {
+        cancelled = true;
+        status.compareAndSet(Status.QUEUED, Status.CANCELLED);
+    }
+
+    /**
+     * Method to get the id of the job
+     * @return the id of the job
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the state of the job
+     * @return the state of the job
+     */
+    public Status getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Method to get the error that stopped the job
+     * @return the message of the error, or null if the job did not fail
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Method to get the most runouts the job deals
+     * @return the most runouts asked for
+     */
+    public long getIterations() {
+        return rule.getMaxTrials();
+    }
+
+    /**
+     * Method to get the latest published estimate
+     * @return the estimate as of the last finished batch
+     */
+    public EquityResponse getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Method to check if the job finished more than a time ago
+     * @param now the current time in nanoseconds
+     * @param ttlNanos how long a finished job is kept, in nanoseconds
+     * @return if the job can be dropped
+     */
+    public boolean isExpired(long now, long ttlNanos) {
+        long finished = finishedAt;
+        return finished != 0 && now - finished > ttlNanos;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.poker_api.equity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.poker_api.config.ExecutionConfig;
+
+/**
+ * Class to run equity jobs in the background
+ * Jobs run on the equity executor, and only a fixed number can be queued
+ * or running at once: a job submitted past that limit is turned away
+ * instead of queued, so a burst of jobs cannot use up memory. Finished
+ * jobs are kept for a while so their results can be polled, and are
+ * dropped when later jobs are submitted
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Service
+public class EquityJobService {
+
+    /** The executor the jobs run on */
+    private final ExecutorService executor;
+
+    /** The permits of the jobs that are queued or running */
+    private final Semaphore admissions;
+
+    /** How long a finished job is kept, in nanoseconds */
+    private final long ttlNanos;
+
+    /** The jobs that are queued, running or recently finished, by id */
+    private final Map<String, EquityJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the job service
+     * @param executor the executor the jobs run on
+     * @param maxActive the most jobs that can be queued or running at once
+     * @param ttl how long a finished job is kept
+     */
+    public EquityJobService(@Qualifier(ExecutionConfig.EQUITY_EXECUTOR) ExecutorService executor,
+            @Value("${poker.equity.jobs.max-active:64}") int maxActive,
+            @Value("${poker.equity.jobs.ttl:10m}") Duration ttl) {
+        this.executor = executor;
+        this.admissions = new Semaphore(maxActive);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Submits a job
+     * @param simulation the simulation the job runs
+     * @param rule the rule that decides when the job is done
+     * @return the job, or null if too many jobs are queued or running
+     */
+    public EquityJob submit(EquitySimulation simulation, StopRule rule) {
+        expire();
+        if (!admissions.tryAcquire()) {
+            return null;
+        }
+        EquityJob job = new EquityJob(UUID.randomUUID().toString(), simulation, rule);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            admissions.release();
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Method to get a job
+     * @param id the id of the job
+     * @return the job, or null if there is no such job or it has been dropped
+     */
+    public EquityJob get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Asks a job to stop early
+     * @param id the id of the job
+     * @return the job, or null if there is no such job or it has been dropped
+     */
+    public EquityJob cancel(String id) {
+        EquityJob job = jobs.get(id);
+        if (job != null) {
+            job.cancel();
+        }
+        return job;
+    }
+
+    /**
+     * Helper method to drop the jobs that finished longer ago than the time to live
+     */
+    private void expire() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.isExpired(now, ttlNanos));
+    }
+}
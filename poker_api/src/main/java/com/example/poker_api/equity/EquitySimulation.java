@@ -0,0 +1,438 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+import com.example.poker_api.PokerHand;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to estimate the equity of each player by dealing random runouts
+ * Each trial deals the rest of the board from the unseen cards and
+ * scores every player: the winner gets 1, players that tie share it
+ * and the rest get 0. The sum and sum of squares of the scores are
+ * kept, so the equity and its standard error can be read at any time
+ * and more trials can be added to refine them
+ *
+ * The runouts are chosen by a sampler, which deals them in units: a
+ * single runout for plain Monte Carlo, or a group of runouts chosen
+ * together to cancel out some of the noise. The average score of a
+ * unit is an unbiased estimate of the equity and units are independent,
+ * so the standard error is worked out from the units. Comparing it with
+ * the spread of single runouts gives the effective sample size, the
+ * number of plain runouts that would be as precise
+ *
+ * Not thread safe, a simulation is run by one thread at a time
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EquitySimulation {
+
+    /** The number of cards on a full board */
+    public static final int BOARD_CARDS = 5;
+
+    /** The smallest standard error told apart from rounding noise */
+    private static final double MIN_ERROR = 1e-7;
+
+    /** The set of cards already on the board */
+    private final long board;
+
+    /** The set of hole cards of each player */
+    private final long[] holeCards;
+
+    /** The codes of the cards that can still be dealt, from lowest to highest */
+    private final int[] unseen;
+
+    /** The number of board cards each trial deals */
+    private final int toDeal;
+
+    /** The sampler that chooses the runouts */
+    private final RunoutSampler sampler;
+
+    /** The type of the sampler */
+    private final SamplerType samplerType;
+
+    /** The strength of each player in the current trial */
+    private final int[] strengths;
+
+    /** The number of trials run so far */
+    private long trials;
+
+    /** The number of trials each player won outright */
+    private final long[] wins;
+
+    /** The number of trials each player tied for the win */
+    private final long[] ties;
+
+    /** The sum of each player's scores */
+    private final double[] scores;
+
+    /** The sum of the squares of each player's scores */
+    private final double[] squares;
+
+    /** The number of units dealt so far */
+    private long units;
+
+    /** The number of trials in the current unit */
+    private int unitTrials;
+
+    /** The sum of each player's scores in the current unit */
+    private final double[] unitScores;
+
+    /** The sum of each player's unit averages */
+    private final double[] unitMeans;
+
+    /** The sum of the squares of each player's unit averages */
+    private final double[] unitSquares;
+
+    /**
+     * Constructs a simulation of a board and the players' hole cards
+     * that deals uniformly random runouts
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @throws IllegalArgumentException if the board has more than five cards, a
+     * player would hold more than seven cards once the board is dealt or there
+     * are not enough unseen cards to deal the board
+     */
+    public EquitySimulation(long board, long[] holeCards) {
+        this(board, holeCards, SamplerType.UNIFORM);
+    }
+
+    /**
+     * Constructs a simulation of a board and the players' hole cards
+     * @param board the set of cards already on the board
+     * @param holeCards the set of hole cards of each player
+     * @param samplerType the way runouts are chosen
+     * @throws IllegalArgumentException if the board has more than five cards, a
+     * player would hold more than seven cards once the board is dealt or there
+     * are not enough unseen cards to deal the board
+     */
+    public EquitySimulation(long board, long[] holeCards, SamplerType samplerType) {
+        if (Long.bitCount(board) > BOARD_CARDS) {
+            throw new IllegalArgumentException("A board holds at most " + BOARD_CARDS + " cards");
+        }
+        this.board = board;
+        this.holeCards = holeCards.clone();
+        this.toDeal = BOARD_CARDS - Long.bitCount(board);
+
+        long dealt = board;
+        for (long cards : holeCards) {
+            dealt |= cards;
+        }
+        for (int i = 0; i < holeCards.length; i++) {
+            if (Long.bitCount(board | holeCards[i]) + toDeal > PokerHand.MAX_CARDS) {
+                throw new IllegalArgumentException("Player " + i + " would hold more than "
+                        + PokerHand.MAX_CARDS + " cards once the board is dealt");
+            }
+        }
+        long rest = Cards.DECK & ~dealt;
+        if (Long.bitCount(rest) < toDeal) {
+            throw new IllegalArgumentException("Not enough cards are left to deal the board");
+        }
+        unseen = new int[Long.bitCount(rest)];
+        for (int i = 0; rest != 0; i++, rest &= rest - 1) {
+            unseen[i] = Long.numberOfTrailingZeros(rest);
+        }
+
+        strengths = new int[holeCards.length];
+        wins = new long[holeCards.length];
+        ties = new long[holeCards.length];
+        scores = new double[holeCards.length];
+        squares = new double[holeCards.length];
+        unitScores = new double[holeCards.length];
+        unitMeans = new double[holeCards.length];
+        unitSquares = new double[holeCards.length];
+        this.samplerType = samplerType;
+        this.sampler = samplerType.create(toDeal);
+    }
+
+    /**
+     * Runs more trials, in whole units of the sampler
+     * @param count the number of trials to run at least
+     * @param random the source of randomness
+     */
+    public void run(long count, SplittableRandom random) {
+        long target = trials + count;
+        while (trials < target) {
+            if (toDeal == 0) {
+                // Nothing left to deal, every trial is the same
+                score(0);
+            } else {
+                sampler.sampleUnit(this, random);
+            }
+            endUnit();
+        }
+    }
+
+    /**
+     * Runs trials in batches until a stop rule is met
+     * The rule is checked between batches, so the time budget can be
+     * overrun by at most one batch. Batches start small and double up to
+     * the batch size, so an easy target is not overshot by much
+     * @param rule the rule that decides when to stop
+     * @param batchSize the most trials between checks
+     * @param random the source of randomness
+     * @return the reason the simulation stopped
+     */
+    public StopRule.Reason run(StopRule rule, int batchSize, SplittableRandom random) {
+        long start = System.nanoTime();
+        long batch = Math.min(StopRule.MIN_TRIALS, batchSize);
+        StopRule.Reason reason;
+        while ((reason = rule.check(this, start)) == null) {
+            run(Math.min(batch, rule.getMaxTrials() - trials), random);
+            batch = Math.min(batch * 2, batchSize);
+        }
+        return reason;
+    }
+
+    /**
+     * Method to get the number of different runouts
+     * @return the number of ways to deal the rest of the board
+     */
+    public long getRunouts() {
+        return binomial(unseen.length, toDeal);
+    }
+
+    /**
+     * Scores a range of runouts in order, each as a unit of its own
+     * Runout i is the i-th set of unseen cards in colexicographic order,
+     * so a full enumeration can be split into ranges and run anywhere
+     * @param first the index of the first runout
+     * @param count the number of runouts to score
+     * @throws IllegalArgumentException if the range is not within the runouts
+     */
+    public void enumerate(long first, long count) {
+        if (first < 0 || count < 0 || first + count > getRunouts()) {
+            throw new IllegalArgumentException("Runouts " + first + " to " + (first + count)
+                    + " are not within the " + getRunouts() + " runouts");
+        }
+        // Unrank the first runout into the positions of its cards, highest first
+        int[] positions = new int[toDeal + 1];
+        positions[toDeal] = unseen.length;
+        long rest = first;
+        for (int k = toDeal; k > 0; k--) {
+            int c = k - 1;
+            while (binomial(c + 1, k) <= rest) {
+                c++;
+            }
+            positions[k - 1] = c;
+            rest -= binomial(c, k);
+        }
+        for (long i = 0; i < count; i++) {
+            long runout = 0;
+            for (int k = 0; k < toDeal; k++) {
+                runout |= 1L << unseen[positions[k]];
+            }
+            score(runout);
+            endUnit();
+
+            // Step to the next set: bump the lowest card that has room and reset those below it
+            int k = 0;
+            while (k < toDeal && positions[k] + 1 == positions[k + 1]) {
+                k++;
+            }
+            if (k < toDeal) {
+                positions[k]++;
+                for (int j = 0; j < k; j++) {
+                    positions[j] = j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to get the codes of the cards that can still be dealt
+     * Samplers may reorder the array while dealing but must put it back
+     * @return the unseen cards, from lowest to highest
+     */
+    int[] unseen() {
+        return unseen;
+    }
+
+    /**
+     * Scores one trial as part of the current unit
+     * @param runout the set of cards dealt to complete the board
+     */
+    void score(long runout) {
+        long fullBoard = board | runout;
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int p = 0; p < holeCards.length; p++) {
+            strengths[p] = BitmaskEvaluator.evaluate(fullBoard | holeCards[p]);
+            if (strengths[p] > best) {
+                best = strengths[p];
+                winners = 1;
+            } else if (strengths[p] == best) {
+                winners++;
+            }
+        }
+        double share = 1.0 / winners;
+        for (int p = 0; p < holeCards.length; p++) {
+            if (strengths[p] == best) {
+                if (winners == 1) {
+                    wins[p]++;
+                } else {
+                    ties[p]++;
+                }
+                scores[p] += share;
+                squares[p] += share * share;
+                unitScores[p] += share;
+            }
+        }
+        trials++;
+        unitTrials++;
+    }
+
+    /**
+     * Helper method to close the current unit and record its averages
+     */
+    private void endUnit() {
+        for (int p = 0; p < holeCards.length; p++) {
+            double mean = unitScores[p] / unitTrials;
+            unitMeans[p] += mean;
+            unitSquares[p] += mean * mean;
+            unitScores[p] = 0;
+        }
+        unitTrials = 0;
+        units++;
+    }
+
+    /**
+     * Method to get the number of players
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return holeCards.length;
+    }
+
+    /**
+     * Method to get the way runouts are chosen
+     * @return the type of the sampler
+     */
+    public SamplerType getSamplerType() {
+        return samplerType;
+    }
+
+    /**
+     * Method to get the number of trials run so far
+     * @return the number of trials
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Method to get the number of trials a player won outright
+     * @param player the index of the player
+     * @return the number of wins
+     */
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    /**
+     * Method to get the number of trials a player tied for the win
+     * @param player the index of the player
+     * @return the number of ties
+     */
+    public long getTies(int player) {
+        return ties[player];
+    }
+
+    /**
+     * Method to get the sum of a player's scores over every trial
+     * @param player the index of the player
+     * @return the sum of the scores
+     */
+    public double getScoreSum(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Method to get the sum of the squares of a player's scores over every trial
+     * @param player the index of the player
+     * @return the sum of the squared scores
+     */
+    public double getSquareSum(int player) {
+        return squares[player];
+    }
+
+    /**
+     * Method to get the estimated equity of a player
+     * @param player the index of the player
+     * @return the share of the pot the player wins on average, from 0 to 1
+     */
+    public double getEquity(int player) {
+        return units == 0 ? 0 : unitMeans[player] / units;
+    }
+
+    /**
+     * Method to get the standard error of a player's estimated equity
+     * @param player the index of the player
+     * @return the standard error, 0 until there are two units
+     */
+    public double getStandardError(int player) {
+        return units < 2 ? 0 : Math.sqrt(variance(unitMeans[player], unitSquares[player], units) / units);
+    }
+
+    /**
+     * Method to get the half width of the widest 95% confidence interval
+     * @return the largest error of any player's equity at 95% confidence
+     */
+    public double getHalfWidth() {
+        double widest = 0;
+        for (int p = 0; p < holeCards.length; p++) {
+            widest = Math.max(widest, getStandardError(p));
+        }
+        return StopRule.Z_95 * widest;
+    }
+
+    /**
+     * Method to get the effective sample size of the estimate
+     * This is the number of uniformly random runouts that would give the
+     * same standard error, taken for the player whose estimate gains the
+     * least. When no error can be measured, such as when the sampler
+     * covers every runout and the estimate is exact, it is the number of trials
+     * @return the effective number of runouts
+     */
+    public long getEffectiveSamples() {
+        double effective = Double.MAX_VALUE;
+        for (int p = 0; p < holeCards.length && trials > 1; p++) {
+            double naive = variance(scores[p], squares[p], trials);
+            double error = getStandardError(p);
+            if (naive > 0 && error > MIN_ERROR) {
+                effective = Math.min(effective, naive / (error * error));
+            }
+        }
+        return effective == Double.MAX_VALUE ? trials : Math.round(effective);
+    }
+
+    /**
+     * Helper method to get the number of ways to choose k of n items
+     * @param n the number of items
+     * @param k the number to choose
+     * @return the binomial coefficient, 0 if k is more than n
+     */
+    private static long binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to get a sample variance from running sums
+     * @param sum the sum of the values
+     * @param sumOfSquares the sum of the squares of the values
+     * @param count the number of values
+     * @return the sample variance, never negative
+     */
+    private static double variance(double sum, double sumOfSquares, long count) {
+        double mean = sum / count;
+        return Math.max((sumOfSquares - mean * sum) / (count - 1), 0);
+    }
+}
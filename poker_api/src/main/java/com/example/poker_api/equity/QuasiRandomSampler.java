@@ -0,0 +1,64 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler that deals blocks of a randomly shifted low discrepancy sequence
+ * Point j of a block is frac(shift + j * alpha), a Kronecker sequence
+ * whose alpha in each dimension is the fractional part of the square
+ * root of a prime. The points of a block cover the unit cube far more
+ * evenly than random points, and a fresh random shift for each block
+ * keeps every point uniform so the blocks are independent estimates
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class QuasiRandomSampler implements RunoutSampler {
+
+    /** The number of points in a block */
+    public static final int BLOCK_SIZE = 64;
+
+    /** The primes whose square roots give the step of each dimension */
+    private static final int[] PRIMES = { 2, 3, 5, 7, 11 };
+
+    /** The step of the sequence in each dimension */
+    private final double[] alpha;
+
+    /** The random shift of the current block */
+    private final double[] shift;
+
+    /** The current point */
+    private final double[] point;
+
+    /** Scratch space for dealing */
+    private final int[] swaps;
+
+    /**
+     * Constructs a quasi random sampler
+     * @param toDeal the number of cards in a runout
+     */
+    public QuasiRandomSampler(int toDeal) {
+        alpha = new double[toDeal];
+        for (int i = 0; i < toDeal; i++) {
+            double root = Math.sqrt(PRIMES[i]);
+            alpha[i] = root - Math.floor(root);
+        }
+        shift = new double[toDeal];
+        point = new double[toDeal];
+        swaps = new int[toDeal];
+    }
+
+    @Override
+    public void sampleUnit(EquitySimulation simulation, SplittableRandom random) {
+        for (int i = 0; i < shift.length; i++) {
+            shift[i] = random.nextDouble();
+        }
+        int[] unseen = simulation.unseen();
+        for (int j = 0; j < BLOCK_SIZE; j++) {
+            for (int i = 0; i < point.length; i++) {
+                double x = shift[i] + j * alpha[i];
+                point[i] = x - Math.floor(x);
+            }
+            simulation.score(RunoutSampler.deal(point, unseen, 0, point.length, swaps));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interface for the ways of choosing the runouts of an equity simulation
+ * A sampler deals one unit at a time: any number of runouts whose
+ * average score is an unbiased estimate of each player's equity, and
+ * that are chosen independently of every other unit
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public interface RunoutSampler {
+
+    /**
+     * Deals and scores the runouts of one unit
+     * @param simulation the simulation to score the runouts in
+     * @param random the source of randomness
+     */
+    void sampleUnit(EquitySimulation simulation, SplittableRandom random);
+
+    /**
+     * Method to deal a runout from a point in the unit cube
+     * Coordinate i picks one of the cards not yet taken, so a uniform
+     * point gives a uniform runout and nearby points give similar runouts.
+     * The cards are put back in their order afterwards
+     * @param point the coordinates from 0 (inclusive) to 1 (exclusive), one per card
+     * @param cards the cards that can be dealt
+     * @param first the index of the first card that can be taken
+     * @param count the number of cards to deal
+     * @param swaps scratch space of at least count entries
+     * @return the set of cards dealt
+     */
+    static long deal(double[] point, int[] cards, int first, int count, int[] swaps) {
+        long runout = 0;
+        for (int i = 0; i < count; i++) {
+            int position = first + i;
+            int left = cards.length - position;
+            int j = position + Math.min((int) (point[i] * left), left - 1);
+            swap(cards, position, j);
+            swaps[i] = j;
+            runout |= 1L << cards[position];
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            swap(cards, first + i, swaps[i]);
+        }
+        return runout;
+    }
+
+    /**
+     * Method to swap two cards in an array
+     * @param cards the array of cards
+     * @param i the index of the first card
+     * @param j the index of the second card
+     */
+    static void swap(int[] cards, int i, int j) {
+        int card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.poker_api.equity;
+
+/**
+ * Enum of the ways the runouts of an equity simulation can be chosen
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public enum SamplerType {
+
+    /** Every runout is uniformly random */
+    UNIFORM,
+
+    /** Runouts come in pairs, the second mirroring the first */
+    ANTITHETIC,
+
+    /** Each unit deals every unseen card once as the first card of the runout */
+    STRATIFIED,
+
+    /** Each unit is a randomly shifted block of a low discrepancy sequence */
+    QUASI_RANDOM;
+
+    /**
+     * Method to create a sampler of this type
+     * @param toDeal the number of cards in a runout
+     * @return the new sampler
+     */
+    public RunoutSampler create(int toDeal) {
+        return switch (this) {
+            case UNIFORM -> new UniformSampler(toDeal);
+            case ANTITHETIC -> new AntitheticSampler(toDeal);
+            case STRATIFIED -> new StratifiedSampler(toDeal);
+            case QUASI_RANDOM -> new QuasiRandomSampler(toDeal);
+        };
+    }
+}
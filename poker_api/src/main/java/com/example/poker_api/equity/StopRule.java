@@ -0,0 +1,92 @@
+package com.example.poker_api.equity;
+
+/**
+ * Class to decide when an equity simulation has dealt enough runouts
+ * A simulation always stops at its most runouts, and can also stop once
+ * the 95% confidence interval of every player's equity is narrower than
+ * a target, or once a time budget is spent
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class StopRule {
+
+    /** The z score of a 95% confidence interval */
+    public static final double Z_95 = 1.959963984540054;
+
+    /** The fewest runouts dealt before the precision is trusted */
+    public static final long MIN_TRIALS = 1_000;
+
+    /**
+     * Enum of the reasons a simulation stopped
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    public enum Reason {
+        /** Dealt the most runouts asked for */
+        ITERATIONS,
+        /** Reached the target precision */
+        PRECISION,
+        /** Spent the time budget */
+        TIME_BUDGET,
+        /** Stopped by the client */
+        CANCELLED
+    }
+
+    /** The most runouts to deal */
+    private final long maxTrials;
+
+    /** The target half width of the confidence interval, 0 for none */
+    private final double epsilon;
+
+    /** The time budget in nanoseconds, 0 for none */
+    private final long budgetNanos;
+
+    /**
+     * Constructs a stop rule
+     * @param maxTrials the most runouts to deal
+     * @param epsilon the target half width of the 95% confidence interval, 0 for none
+     * @param budgetNanos the time budget in nanoseconds, 0 for none
+     */
+    public StopRule(long maxTrials, double epsilon, long budgetNanos) {
+        this.maxTrials = maxTrials;
+        this.epsilon = epsilon;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Method to get a stop rule that deals a fixed number of runouts
+     * @param trials the number of runouts to deal
+     * @return the stop rule
+     */
+    public static StopRule fixed(long trials) {
+        return new StopRule(trials, 0, 0);
+    }
+
+    /**
+     * Method to check if a simulation should stop
+     * @param simulation the simulation being run
+     * @param startNanos the time the simulation started, in nanoseconds
+     * @return the reason to stop, or null to keep going
+     */
+    public Reason check(EquitySimulation simulation, long startNanos) {
+        long trials = simulation.getTrials();
+        if (trials >= maxTrials) {
+            return Reason.ITERATIONS;
+        }
+        if (epsilon > 0 && trials >= MIN_TRIALS && simulation.getHalfWidth() < epsilon) {
+            return Reason.PRECISION;
+        }
+        if (budgetNanos > 0 && System.nanoTime() - startNanos >= budgetNanos) {
+            return Reason.TIME_BUDGET;
+        }
+        return null;
+    }
+
+    /**
+     * Method to get the most runouts to deal
+     * @return the most runouts
+     */
+    public long getMaxTrials() {
+        return maxTrials;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler that stratifies the runouts by their first card
+ * Every unseen card is equally likely to come first, so each unit deals
+ * every unseen card once as the first card and fills the rest of the
+ * runout at random. This removes the noise of which card comes first,
+ * and on the turn, where a runout is a single card, it is exact
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class StratifiedSampler implements RunoutSampler {
+
+    /** The uniform point of the rest of the runout */
+    private final double[] point;
+
+    /** Scratch space for dealing */
+    private final int[] swaps;
+
+    /**
+     * Constructs a stratified sampler
+     * @param toDeal the number of cards in a runout
+     */
+    public StratifiedSampler(int toDeal) {
+        point = new double[Math.max(toDeal - 1, 0)];
+        swaps = new int[Math.max(toDeal - 1, 0)];
+    }
+
+    @Override
+    public void sampleUnit(EquitySimulation simulation, SplittableRandom random) {
+        int[] unseen = simulation.unseen();
+        for (int stratum = 0; stratum < unseen.length; stratum++) {
+            // Move the card of the stratum to the front so the rest is dealt from the others
+            RunoutSampler.swap(unseen, 0, stratum);
+            for (int i = 0; i < point.length; i++) {
+                point[i] = random.nextDouble();
+            }
+            long runout = 1L << unseen[0] | RunoutSampler.deal(point, unseen, 1, point.length, swaps);
+            RunoutSampler.swap(unseen, 0, stratum);
+            simulation.score(runout);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.poker_api.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler that deals one uniformly random runout per unit
+ * This is plain Monte Carlo, the baseline the other samplers are measured against
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class UniformSampler implements RunoutSampler {
+
+    /** The uniform point of the runout */
+    private final double[] point;
+
+    /** Scratch space for dealing */
+    private final int[] swaps;
+
+    /**
+     * Constructs a uniform sampler
+     * @param toDeal the number of cards in a runout
+     */
+    public UniformSampler(int toDeal) {
+        point = new double[toDeal];
+        swaps = new int[toDeal];
+    }
+
+    @Override
+    public void sampleUnit(EquitySimulation simulation, SplittableRandom random) {
+        for (int i = 0; i < point.length; i++) {
+            point[i] = random.nextDouble();
+        }
+        simulation.score(RunoutSampler.deal(point, simulation.unseen(), 0, point.length, swaps));
+    }
+}
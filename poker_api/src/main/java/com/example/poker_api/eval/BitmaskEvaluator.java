@@ -0,0 +1,353 @@
+package com.example.poker_api.eval;
+
+/**
+ * Class to evaluate the best five card hand of up to seven cards
+ * Works on the 13 bit rank masks of each suit, so pairs, trips, quads,
+ * flushes and straights are all found with a few bitwise operations
+ * and no objects are created
+ *
+ * The strength of a hand is an int that orders hands from weakest to
+ * strongest: the category is in bits 20 and up, followed by up to five
+ * 4 bit ranks (bits 16, 12, 8, 4 and 0) that break ties in order
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class BitmaskEvaluator {
+
+    /** The shift of the category in a strength */
+    public static final int CATEGORY_SHIFT = 20;
+
+    /** Category value of a high card */
+    private static final int HIGH_CARD = HandCategory.HIGH_CARD.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of a pair */
+    private static final int PAIR = HandCategory.PAIR.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of two pair */
+    private static final int TWO_PAIR = HandCategory.TWO_PAIR.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of three of a kind */
+    private static final int THREE_OF_A_KIND = HandCategory.THREE_OF_A_KIND.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of a straight */
+    private static final int STRAIGHT = HandCategory.STRAIGHT.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of a flush */
+    private static final int FLUSH = HandCategory.FLUSH.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of a full house */
+    private static final int FULL_HOUSE = HandCategory.FULL_HOUSE.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of four of a kind */
+    private static final int FOUR_OF_A_KIND = HandCategory.FOUR_OF_A_KIND.ordinal() << CATEGORY_SHIFT;
+
+    /** Category value of a straight flush, royal flushes included */
+    private static final int STRAIGHT_FLUSH = HandCategory.STRAIGHT_FLUSH.ordinal() << CATEGORY_SHIFT;
+
+    /** The categories by ordinal, kept so looking one up does not copy the array */
+    private static final HandCategory[] CATEGORIES = HandCategory.values();
+
+    /** The number of cards of each tie breaking rank a category uses, by category */
+    private static final int[][] USED_COUNTS = {
+        { 1, 1, 1, 1, 1 }, // High card
+        { 2, 1, 1, 1 },    // Pair
+        { 2, 2, 1 },       // Two pair
+        { 3, 1, 1 },       // Three of a kind
+        { },               // Straights are handled on their own
+        { 1, 1, 1, 1, 1 }, // Flush
+        { 3, 2 },          // Full house
+        { 4, 1 },          // Four of a kind
+    };
+
+    /** The rank of an ace */
+    private static final int ACE = 12;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private BitmaskEvaluator() {
+        // Static methods only
+    }
+
+    /**
+     * Method to evaluate the strength of a set of cards
+     * @param cards the set of cards, as built by Cards
+     * @return the strength of the best five card hand
+     */
+    public static int evaluate(long cards) {
+        return evaluate(Cards.suitMask(cards, 0), Cards.suitMask(cards, 1),
+                Cards.suitMask(cards, 2), Cards.suitMask(cards, 3));
+    }
+
+    /**
+     * Method to evaluate the strength of the rank masks of each suit
+     * @param c the rank mask of the clubs
+     * @param d the rank mask of the diamonds
+     * @param h the rank mask of the hearts
+     * @param s the rank mask of the spades
+     * @return the strength of the best five card hand
+     */
+    public static int evaluate(int c, int d, int h, int s) {
+        int twoOrMore = (c & d) | (c & h) | (c & s) | (d & h) | (d & s) | (h & s);
+        int threeOrMore = (c & d & h) | (c & d & s) | (c & h & s) | (d & h & s);
+        return evaluate(c | d | h | s, twoOrMore, threeOrMore, c & d & h & s, flushMask(c, d, h, s));
+    }
+
+    /**
+     * Method to evaluate the strength of a hand from its rank sets
+     * Lets callers that keep these sets up to date as cards are added
+     * evaluate without rebuilding them from the suits
+     * @param ranks the ranks held at least once
+     * @param twoOrMore the ranks held at least twice
+     * @param threeOrMore the ranks held at least three times
+     * @param quads the ranks held four times
+     * @param flush the rank mask of the suit holding five or more cards, or 0
+     * @return the strength of the best five card hand
+     */
+    public static int evaluate(int ranks, int twoOrMore, int threeOrMore, int quads, int flush) {
+        // At most one suit can hold five of seven cards
+        if (flush != 0) {
+            int high = straightHigh(flush);
+            if (high >= 0) {
+                return STRAIGHT_FLUSH | high << 16;
+            }
+        }
+
+        if (quads != 0) {
+            int quad = highest(quads);
+            int kicker = highest(ranks & ~(1 << quad));
+            return FOUR_OF_A_KIND | quad << 16 | Math.max(kicker, 0) << 12;
+        }
+
+        if (threeOrMore != 0) {
+            int trips = highest(threeOrMore);
+            int pairs = twoOrMore & ~(1 << trips);
+            if (pairs != 0) {
+                return FULL_HOUSE | trips << 16 | highest(pairs) << 12;
+            }
+        }
+
+        if (flush != 0) {
+            return FLUSH | top(flush, 5);
+        }
+
+        int high = straightHigh(ranks);
+        if (high >= 0) {
+            return STRAIGHT | high << 16;
+        }
+
+        if (threeOrMore != 0) {
+            int trips = highest(threeOrMore);
+            return THREE_OF_A_KIND | trips << 16 | top(ranks & ~(1 << trips), 2) << 8;
+        }
+
+        if (Integer.bitCount(twoOrMore) >= 2) {
+            int highPair = highest(twoOrMore);
+            int lowPair = highest(twoOrMore & ~(1 << highPair));
+            int kicker = highest(ranks & ~(1 << highPair) & ~(1 << lowPair));
+            return TWO_PAIR | highPair << 16 | lowPair << 12 | Math.max(kicker, 0) << 8;
+        }
+
+        if (twoOrMore != 0) {
+            int pair = highest(twoOrMore);
+            return PAIR | pair << 16 | top(ranks & ~(1 << pair), 3) << 4;
+        }
+
+        return HIGH_CARD | top(ranks, 5);
+    }
+
+    /**
+     * Method to get the category of a strength
+     * @param strength the strength of a hand
+     * @return the category of the hand, with ace high straight flushes
+     * reported as royal flushes
+     */
+    public static HandCategory category(int strength) {
+        HandCategory category = CATEGORIES[strength >>> CATEGORY_SHIFT];
+        if (category == HandCategory.STRAIGHT_FLUSH && rankAt(strength, 0) == ACE) {
+            return HandCategory.ROYAL_FLUSH;
+        }
+        return category;
+    }
+
+    /**
+     * Method to get one of the tie breaking ranks of a strength
+     * @param strength the strength of a hand
+     * @param index the index of the rank, 0 is the most significant
+     * @return the rank from 0 (two) to 12 (ace)
+     */
+    public static int rankAt(int strength, int index) {
+        return strength >>> (16 - 4 * index) & 0xF;
+    }
+
+    /**
+     * Method to describe the best hand of a set of cards
+     * Uses the same wording as the original best hand calculation
+     * @param cards the set of cards
+     * @return the description of the best hand such as "Pair of two: K"
+     */
+    public static String describe(long cards) {
+        return describe(evaluate(cards), flushSuit(cards));
+    }
+
+    /**
+     * Method to describe a strength
+     * @param strength the strength of a hand
+     * @param suit the suit of the flush, only used by flushes and straight flushes
+     * @return the description of the hand such as "Pair of two: K"
+     */
+    public static String describe(int strength, int suit) {
+        HandCategory category = category(strength);
+        String first = Cards.rankName(rankAt(strength, 0));
+        String label = category.getLabel();
+        return switch (category) {
+            case ROYAL_FLUSH -> label;
+            case STRAIGHT_FLUSH, FLUSH -> label + ": " + first + " high of " + Cards.suitChar(suit);
+            case STRAIGHT -> label + ": " + first + " high";
+            case FULL_HOUSE -> label + ": " + first + " full of " + Cards.rankName(rankAt(strength, 1));
+            case TWO_PAIR -> label + ": " + first + " and " + Cards.rankName(rankAt(strength, 1));
+            default -> label + ": " + first;
+        };
+    }
+
+    /**
+     * Method to get the suit of the flush in a set of cards
+     * @param cards the set of cards
+     * @return the suit of the flush, or -1 if there is no flush
+     */
+    public static int flushSuit(long cards) {
+        return flushSuit(Cards.suitMask(cards, 0), Cards.suitMask(cards, 1),
+                Cards.suitMask(cards, 2), Cards.suitMask(cards, 3));
+    }
+
+    /**
+     * Method to get the suit of the flush in the rank masks of each suit
+     * @param c the rank mask of the clubs
+     * @param d the rank mask of the diamonds
+     * @param h the rank mask of the hearts
+     * @param s the rank mask of the spades
+     * @return the suit of the flush, or -1 if there is no flush
+     */
+    public static int flushSuit(int c, int d, int h, int s) {
+        if (Integer.bitCount(c) >= 5) {
+            return 0;
+        } else if (Integer.bitCount(d) >= 5) {
+            return 1;
+        } else if (Integer.bitCount(h) >= 5) {
+            return 2;
+        } else if (Integer.bitCount(s) >= 5) {
+            return 3;
+        }
+        return -1;
+    }
+
+    /**
+     * Method to get the cards that make up the best five card hand
+     * @param cards the set of cards
+     * @param strength the strength of the cards, as returned by evaluate
+     * @return the set of at most five cards the strength was made from
+     */
+    public static long usedCards(long cards, int strength) {
+        int category = strength >>> CATEGORY_SHIFT;
+        if (category == STRAIGHT_FLUSH >>> CATEGORY_SHIFT || category == FLUSH >>> CATEGORY_SHIFT) {
+            // Only the cards of the flush suit can be used
+            int suit = flushSuit(cards);
+            cards &= (long) Cards.RANK_MASK << Cards.code(0, suit);
+        }
+        if (category == STRAIGHT_FLUSH >>> CATEGORY_SHIFT || category == STRAIGHT >>> CATEGORY_SHIFT) {
+            int high = rankAt(strength, 0);
+            long used = 0;
+            for (int i = 0; i < 5; i++) {
+                used |= take(cards, (high - i + Cards.RANKS) % Cards.RANKS, 1);
+            }
+            return used;
+        }
+        long used = 0;
+        int[] counts = USED_COUNTS[category];
+        for (int i = 0; i < counts.length; i++) {
+            used |= take(cards & ~used, rankAt(strength, i), counts[i]);
+        }
+        return used;
+    }
+
+    /**
+     * Helper method to take up to a number of cards of one rank
+     * @param cards the set of cards to take from
+     * @param rank the rank of the cards to take
+     * @param count the number of cards to take
+     * @return the set of cards taken
+     */
+    private static long take(long cards, int rank, int count) {
+        long taken = 0;
+        for (int suit = Cards.SUITS - 1; suit >= 0 && count > 0; suit--) {
+            long card = 1L << Cards.code(rank, suit);
+            if ((cards & card) != 0) {
+                taken |= card;
+                count--;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Helper method to get the rank mask of the flush suit
+     * @param c the rank mask of the clubs
+     * @param d the rank mask of the diamonds
+     * @param h the rank mask of the hearts
+     * @param s the rank mask of the spades
+     * @return the rank mask of the flush suit, or 0 if there is no flush
+     */
+    private static int flushMask(int c, int d, int h, int s) {
+        return switch (flushSuit(c, d, h, s)) {
+            case 0 -> c;
+            case 1 -> d;
+            case 2 -> h;
+            case 3 -> s;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Method to get the high card of the best straight in a rank mask
+     * The ace is also used as the low card of the five high straight
+     * @param ranks the rank mask
+     * @return the rank of the high card of the straight, or -1 if there is none
+     */
+    public static int straightHigh(int ranks) {
+        // Bit 0 is the low ace and bit r + 1 is rank r
+        int shifted = ranks << 1 | ranks >>> ACE & 1;
+        int runs = shifted & shifted >>> 1 & shifted >>> 2 & shifted >>> 3 & shifted >>> 4;
+        if (runs == 0) {
+            return -1;
+        }
+        return highest(runs) + 3;
+    }
+
+    /**
+     * Helper method to get the highest rank in a mask
+     * @param ranks the rank mask
+     * @return the highest rank, or -1 if the mask is empty
+     */
+    private static int highest(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    /**
+     * Helper method to pack the highest ranks of a mask into 4 bit groups
+     * The highest rank ends up in the most significant group
+     * @param ranks the rank mask
+     * @param count the number of ranks to pack
+     * @return the packed ranks
+     */
+    private static int top(int ranks, int count) {
+        int packed = 0;
+        for (int i = 0; i < count; i++) {
+            int rank = highest(ranks);
+            packed = packed << 4 | Math.max(rank, 0);
+            if (rank >= 0) {
+                ranks &= ~(1 << rank);
+            }
+        }
+        return packed;
+    }
+}
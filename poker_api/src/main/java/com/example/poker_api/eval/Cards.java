@@ -0,0 +1,205 @@
+package com.example.poker_api.eval;
+
+import com.example.poker_api.dsa.list.ArrayBasedList;
+import com.example.poker_api.dsa.list.List;
+
+/**
+ * Class to convert cards between their text and primitive forms
+ * A card is coded as suit * 13 + rank, where the rank is 0 for a two
+ * up to 12 for an ace and the suit is 0 to 3 for clubs, diamonds,
+ * hearts and spades. A set of cards is a long with the bit of each
+ * card code set, so each suit is a 13 bit group of ranks
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class Cards {
+
+    /** The number of cards in a deck */
+    public static final int DECK_SIZE = 52;
+
+    /** The number of ranks in a suit */
+    public static final int RANKS = 13;
+
+    /** The number of suits in a deck */
+    public static final int SUITS = 4;
+
+    /** Mask of the 13 rank bits of one suit */
+    public static final int RANK_MASK = 0x1FFF;
+
+    /** Mask of all 52 cards in a deck */
+    public static final long DECK = (1L << DECK_SIZE) - 1;
+
+    /** The rank characters from two to ace */
+    private static final String RANK_CHARS = "23456789TJQKA";
+
+    /** The suit characters from clubs to spades */
+    private static final String SUIT_CHARS = "cdhs";
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private Cards() {
+        // Static methods only
+    }
+
+    /**
+     * Method to get the code of a card
+     * @param rank the rank of the card from 0 (two) to 12 (ace)
+     * @param suit the suit of the card from 0 to 3
+     * @return the code of the card
+     */
+    public static int code(int rank, int suit) {
+        return suit * RANKS + rank;
+    }
+
+    /**
+     * Method to get the rank of a card code
+     * @param code the code of the card
+     * @return the rank from 0 (two) to 12 (ace)
+     */
+    public static int rank(int code) {
+        return code % RANKS;
+    }
+
+    /**
+     * Method to get the suit of a card code
+     * @param code the code of the card
+     * @return the suit from 0 to 3
+     */
+    public static int suit(int code) {
+        return code / RANKS;
+    }
+
+    /**
+     * Method to get the 13 rank bits of one suit from a set of cards
+     * @param cards the set of cards
+     * @param suit the suit from 0 to 3
+     * @return the rank bits of the suit
+     */
+    public static int suitMask(long cards, int suit) {
+        return (int) (cards >>> (suit * RANKS)) & RANK_MASK;
+    }
+
+    /**
+     * Method to parse a card such as "Ah", "10d" or "Tc"
+     * @param card the text of the card
+     * @return the code of the card
+     * @throws IllegalArgumentException if the card is not valid
+     */
+    public static int parse(String card) {
+        int code = parse(card.toCharArray(), 0, card.length());
+        if (code < 0) {
+            throw new IllegalArgumentException("Invalid card: " + card);
+        }
+        return code;
+    }
+
+    /**
+     * Method to parse a card straight from a character buffer
+     * Does not create any objects so it can be used while reading a request
+     * @param buffer the buffer holding the text of the card
+     * @param offset the offset of the card in the buffer
+     * @param length the length of the card text
+     * @return the code of the card, or -1 if the card is not valid
+     */
+    public static int parse(char[] buffer, int offset, int length) {
+        int rank;
+        if (length == 2) {
+            rank = rankIndex(buffer[offset]);
+        } else if (length == 3 && buffer[offset] == '1' && buffer[offset + 1] == '0') {
+            rank = 8;
+        } else {
+            return -1;
+        }
+        int suit = suitIndex(buffer[offset + length - 1]);
+        if (rank < 0 || suit < 0) {
+            return -1;
+        }
+        return code(rank, suit);
+    }
+
+    /**
+     * Method to parse a list of cards into a set of cards
+     * @param cards the list of cards
+     * @return the set of cards
+     * @throws IllegalArgumentException if a card is not valid or repeated
+     */
+    public static long parseAll(Iterable<String> cards) {
+        long mask = 0;
+        for (String card : cards) {
+            long bit = 1L << parse(card);
+            if ((mask & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate card: " + card);
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Method to get the rank index of a rank character
+     * @param c the rank character
+     * @return the rank from 0 (two) to 12 (ace), or -1 if not a rank
+     */
+    public static int rankIndex(char c) {
+        return RANK_CHARS.indexOf(Character.toUpperCase(c));
+    }
+
+    /**
+     * Method to get the suit index of a suit character
+     * @param c the suit character
+     * @return the suit from 0 to 3, or -1 if not a suit
+     */
+    public static int suitIndex(char c) {
+        return SUIT_CHARS.indexOf(Character.toLowerCase(c));
+    }
+
+    /**
+     * Method to get the name of a rank as used in the best hand descriptions
+     * @param rank the rank from 0 (two) to 12 (ace)
+     * @return the name of the rank such as "A" or "10"
+     */
+    public static String rankName(int rank) {
+        return rank == 8 ? "10" : String.valueOf(RANK_CHARS.charAt(rank));
+    }
+
+    /**
+     * Method to get the character of a rank
+     * @param rank the rank from 0 (two) to 12 (ace)
+     * @return the character of the rank such as "A" or "T"
+     */
+    public static char rankChar(int rank) {
+        return RANK_CHARS.charAt(rank);
+    }
+
+    /**
+     * Method to get the character of a suit
+     * @param suit the suit from 0 to 3
+     * @return the character of the suit
+     */
+    public static char suitChar(int suit) {
+        return SUIT_CHARS.charAt(suit);
+    }
+
+    /**
+     * Method to get the text of a card code
+     * @param code the code of the card
+     * @return the text of the card such as "Ah" or "10d"
+     */
+    public static String toString(int code) {
+        return rankName(rank(code)) + suitChar(suit(code));
+    }
+
+    /**
+     * Method to get the text of every card in a set of cards
+     * @param cards the set of cards
+     * @return the list of card texts, from the lowest code to the highest
+     */
+    public static List<String> toList(long cards) {
+        List<String> list = new ArrayBasedList<>(Long.bitCount(cards));
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            list.addLast(toString(Long.numberOfTrailingZeros(rest)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.poker_api.eval;
+
+/**
+ * Enum of the engines hands can be evaluated with
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public enum EvaluatorType {
+
+    /** Finds the best hand with bitwise operations on the rank masks of each suit */
+    BITMASK,
+
+    /** Scores every five card hand of the cards on its own, slow but plain */
+    REFERENCE,
+
+    /** Looks straights, flushes and kickers up in tables indexed by rank masks */
+    LOOKUP_TABLE;
+
+    /**
+     * Method to get the name of the type as it is written in the properties
+     * @return the name of the type, such as "lookup-table"
+     */
+    public String getName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * Method to get a type from its name
+     * @param name the name of the type, such as "lookup-table"
+     * @return the type with that name
+     * @throws IllegalArgumentException if no type has that name
+     */
+    public static EvaluatorType fromName(String name) {
+        for (EvaluatorType type : values()) {
+            if (type.getName().equalsIgnoreCase(name.trim())) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown evaluator: " + name);
+    }
+
+    /**
+     * Method to create an evaluator of this type
+     * @return the evaluator
+     */
+    public HandEvaluator create() {
+        return switch (this) {
+            case BITMASK -> BitmaskEvaluator::evaluate;
+            case REFERENCE -> ReferenceEvaluator::evaluate;
+            case LOOKUP_TABLE -> LookupTableEvaluator::evaluate;
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.poker_api.eval;
+
+/**
+ * Enum to represent the category of a poker hand
+ * Categories are declared from weakest to strongest so the
+ * ordinal can be used to compare two categories
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public enum HandCategory {
+
+    /** No made hand, only the high card plays */
+    HIGH_CARD("High Card"),
+
+    /** Two cards of the same rank */
+    PAIR("Pair of two"),
+
+    /** Two different pairs */
+    TWO_PAIR("Two Pair"),
+
+    /** Three cards of the same rank */
+    THREE_OF_A_KIND("Three of a kind"),
+
+    /** Five consecutive ranks */
+    STRAIGHT("Straight"),
+
+    /** Five cards of the same suit */
+    FLUSH("Flush"),
+
+    /** Three of a kind and a pair */
+    FULL_HOUSE("Full House"),
+
+    /** Four cards of the same rank */
+    FOUR_OF_A_KIND("Four of a kind"),
+
+    /** Five consecutive ranks of the same suit */
+    STRAIGHT_FLUSH("Straight Flush"),
+
+    /** Ace high straight flush */
+    ROYAL_FLUSH("Royal Flush");
+
+    /** The label used at the start of a best hand description */
+    private final String label;
+
+    /**
+     * Constructs a hand category with its description label
+     * @param label the label used at the start of a best hand description
+     */
+    HandCategory(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Method to get the label of the category
+     * @return the label of the category
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.poker_api.eval;
+
+/**
+ * Interface for the engines that evaluate hands
+ * Every engine gives the same strengths as BitmaskEvaluator, so the
+ * results of one can be described, ranked and compared with the helpers
+ * of BitmaskEvaluator whichever engine made them
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@FunctionalInterface
+public interface HandEvaluator {
+
+    /**
+     * Method to evaluate the strength of a set of cards
+     * @param cards the set of one to seven cards, as built by Cards
+     * @return the strength of the best five card hand
+     */
+    int evaluate(long cards);
+}
@@ -0,0 +1,96 @@
+package com.example.poker_api.eval;
+
+import java.util.Arrays;
+
+/**
+ * Class to turn a strength into its ordinal hand rank
+ * There are 7462 distinct five card hands once suits are ignored
+ * (apart from flushes), from 7-5-4-3-2 at rank 1 up to the royal flush
+ * at rank 7462. The strengths of all of them are built once, sorted,
+ * and a strength is ranked with a binary search
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class HandRank {
+
+    /** The number of distinct five card hands */
+    public static final int DISTINCT_HANDS = 7462;
+
+    /** The strength of every distinct five card hand, from weakest to strongest */
+    private static final int[] STRENGTHS = buildStrengths();
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private HandRank() {
+        // Static methods only
+    }
+
+    /**
+     * Method to get the ordinal rank of a strength
+     * Hands of fewer than five cards get the rank of the strongest
+     * five card hand they beat, or 1 if they beat none
+     * @param strength the strength from BitmaskEvaluator
+     * @return the rank from 1 (weakest) to 7462 (a royal flush)
+     */
+    public static int ordinal(int strength) {
+        int index = Arrays.binarySearch(STRENGTHS, strength);
+        return index >= 0 ? index + 1 : Math.max(-index - 1, 1);
+    }
+
+    /**
+     * Method to get the strength of an ordinal rank
+     * @param ordinal the rank from 1 to 7462
+     * @return the strength of the five card hands of that rank
+     */
+    public static int strength(int ordinal) {
+        return STRENGTHS[ordinal - 1];
+    }
+
+    /**
+     * Helper method to build the sorted strengths of every distinct five card hand
+     * Every multiset of five ranks is evaluated without a flush, and every
+     * set of five different ranks is evaluated again as a flush
+     * @return the sorted strengths
+     */
+    private static int[] buildStrengths() {
+        int[] strengths = new int[DISTINCT_HANDS];
+        int count = 0;
+        int[] counts = new int[Cards.RANKS];
+        for (int a = 0; a < Cards.RANKS; a++) {
+            for (int b = a; b < Cards.RANKS; b++) {
+                for (int c = b; c < Cards.RANKS; c++) {
+                    for (int d = c; d < Cards.RANKS; d++) {
+                        for (int e = d; e < Cards.RANKS; e++) {
+                            Arrays.fill(counts, 0);
+                            counts[a]++;
+                            counts[b]++;
+                            counts[c]++;
+                            counts[d]++;
+                            counts[e]++;
+                            if (counts[a] == 5) {
+                                continue;
+                            }
+                            // The n-th card of a rank goes in the n-th suit
+                            int[] suits = new int[Cards.SUITS];
+                            for (int rank = 0; rank < Cards.RANKS; rank++) {
+                                for (int n = 0; n < counts[rank]; n++) {
+                                    suits[n] |= 1 << rank;
+                                }
+                            }
+                            if (Integer.bitCount(suits[0]) == 5) {
+                                // Five different ranks, move the lowest so there is no flush
+                                suits[1] = suits[0] & -suits[0];
+                                strengths[count++] = BitmaskEvaluator.evaluate(suits[0], 0, 0, 0);
+                                suits[0] &= ~suits[1];
+                            }
+                            strengths[count++] = BitmaskEvaluator.evaluate(suits[0], suits[1], suits[2], suits[3]);
+                        }
+                    }
+                }
+            }
+        }
+        Arrays.sort(strengths);
+        return strengths;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.poker_api.eval;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Class to evaluate the best five card hand of up to seven cards with tables
+ * Works like BitmaskEvaluator, but the straights, flushes and kickers of
+ * each 13 bit rank mask are worked out once into tables of 8,192 ints, so
+ * an evaluation is a few bitwise operations and one or two lookups
+ *
+ * The tables live in one segment outside the heap for the life of the
+ * application, so the collector never has to scan or move them
+ *
+ * With seven cards or fewer a flush can not be made alongside four of a
+ * kind or a full house, so a flush is looked up before anything else
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class LookupTableEvaluator {
+
+    /** The number of rank masks */
+    private static final int MASKS = 1 << Cards.RANKS;
+
+    /** The fewest cards of a flush */
+    private static final int FLUSH_CARDS = 5;
+
+    /** Category value of a pair */
+    private static final int PAIR = HandCategory.PAIR.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Category value of two pair */
+    private static final int TWO_PAIR = HandCategory.TWO_PAIR.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Category value of three of a kind */
+    private static final int THREE_OF_A_KIND = HandCategory.THREE_OF_A_KIND.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Category value of a straight */
+    private static final int STRAIGHT = HandCategory.STRAIGHT.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Category value of a full house */
+    private static final int FULL_HOUSE = HandCategory.FULL_HOUSE.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Category value of four of a kind */
+    private static final int FOUR_OF_A_KIND = HandCategory.FOUR_OF_A_KIND.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+
+    /** Layout of the entries of the tables */
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+    /** Index of the table of the five highest ranks of each mask, packed as in a high card strength */
+    private static final long TOP = 0;
+
+    /** Index of the table of the strength of each mask of distinct ranks, a straight or a high card */
+    private static final long UNPAIRED = MASKS;
+
+    /** Index of the table of the strength of each mask of suited ranks, a straight flush or a flush */
+    private static final long FLUSHES = 2L * MASKS;
+
+    /** The three tables, one after the other */
+    private static final MemorySegment TABLES = Arena.global().allocate(3L * MASKS * Integer.BYTES, Integer.BYTES);
+
+    static {
+        int highCard = HandCategory.HIGH_CARD.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+        int flush = HandCategory.FLUSH.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+        int straightFlush = HandCategory.STRAIGHT_FLUSH.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+        for (int mask = 0; mask < MASKS; mask++) {
+            int top = 0;
+            int rest = mask;
+            for (int i = 0; i < FLUSH_CARDS; i++) {
+                int rank = highest(rest);
+                top = top << 4 | Math.max(rank, 0);
+                rest &= ~(1 << Math.max(rank, 0));
+            }
+            int high = BitmaskEvaluator.straightHigh(mask);
+            TABLES.setAtIndex(INT, TOP + mask, top);
+            TABLES.setAtIndex(INT, UNPAIRED + mask, high >= 0 ? STRAIGHT | high << 16 : highCard | top);
+            TABLES.setAtIndex(INT, FLUSHES + mask, high >= 0 ? straightFlush | high << 16 : flush | top);
+        }
+    }
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private LookupTableEvaluator() {
+        // Static methods only
+    }
+
+    /**
+     * Method to evaluate the strength of a set of cards
+     * @param cards the set of up to seven cards, as built by Cards
+     * @return the strength of the best five card hand
+     */
+    public static int evaluate(long cards) {
+        int c = Cards.suitMask(cards, 0);
+        int d = Cards.suitMask(cards, 1);
+        int h = Cards.suitMask(cards, 2);
+        int s = Cards.suitMask(cards, 3);
+        if (Integer.bitCount(c) >= FLUSH_CARDS) {
+            return lookup(FLUSHES, c);
+        } else if (Integer.bitCount(d) >= FLUSH_CARDS) {
+            return lookup(FLUSHES, d);
+        } else if (Integer.bitCount(h) >= FLUSH_CARDS) {
+            return lookup(FLUSHES, h);
+        } else if (Integer.bitCount(s) >= FLUSH_CARDS) {
+            return lookup(FLUSHES, s);
+        }
+
+        int ranks = c | d | h | s;
+        int twoOrMore = (c & d) | (c & h) | (c & s) | (d & h) | (d & s) | (h & s);
+        if (twoOrMore == 0) {
+            return lookup(UNPAIRED, ranks);
+        }
+
+        int quads = c & d & h & s;
+        if (quads != 0) {
+            int quad = highest(quads);
+            return FOUR_OF_A_KIND | quad << 16 | (lookup(TOP, ranks & ~(1 << quad)) >>> 16) << 12;
+        }
+
+        int threeOrMore = (c & d & h) | (c & d & s) | (c & h & s) | (d & h & s);
+        if (threeOrMore != 0) {
+            int trips = highest(threeOrMore);
+            int pairs = twoOrMore & ~(1 << trips);
+            if (pairs != 0) {
+                return FULL_HOUSE | trips << 16 | highest(pairs) << 12;
+            }
+        }
+
+        // A straight can still be made around a pair or trips
+        int unpaired = lookup(UNPAIRED, ranks);
+        if (unpaired >= STRAIGHT) {
+            return unpaired;
+        }
+
+        if (threeOrMore != 0) {
+            int trips = highest(threeOrMore);
+            return THREE_OF_A_KIND | trips << 16 | (lookup(TOP, ranks & ~(1 << trips)) >>> 12) << 8;
+        }
+
+        int highPair = highest(twoOrMore);
+        int lowPairs = twoOrMore & ~(1 << highPair);
+        if (lowPairs != 0) {
+            int lowPair = highest(lowPairs);
+            int kicker = lookup(TOP, ranks & ~(1 << highPair) & ~(1 << lowPair)) >>> 16;
+            return TWO_PAIR | highPair << 16 | lowPair << 12 | kicker << 8;
+        }
+        return PAIR | highPair << 16 | (lookup(TOP, ranks & ~(1 << highPair)) >>> 8) << 4;
+    }
+
+    /**
+     * Helper method to look an entry up in one of the tables
+     * @param table the index of the table
+     * @param mask the rank mask
+     * @return the entry of the mask
+     */
+    private static int lookup(long table, int mask) {
+        return TABLES.getAtIndex(INT, table + mask);
+    }
+
+    /**
+     * Helper method to get the highest rank in a mask
+     * @param ranks the rank mask
+     * @return the highest rank, or -1 if the mask is empty
+     */
+    private static int highest(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.poker_api.eval;
+
+import java.util.Arrays;
+
+/**
+ * Class to find the nuts of a board, the best hand any player can hold
+ * Every pair of unseen cards is tried as hole cards, and the strongest
+ * hand they make with the board is kept along with every pair that
+ * makes it
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class Nuts {
+
+    /** The fewest cards on a board with nuts, the flop */
+    public static final int MIN_BOARD = 3;
+
+    /** The most cards on a board, the river */
+    public static final int MAX_BOARD = 5;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private Nuts() {
+        // Static methods only
+    }
+
+    /**
+     * Method to get the strength of the nuts of a board
+     * @param board the set of cards on the board
+     * @return the strength of the best hand any two hole cards make
+     * @throws IllegalArgumentException if the board does not hold three to five cards
+     */
+    public static int strength(long board) {
+        checkBoard(board);
+        int best = Integer.MIN_VALUE;
+        long unseen = Cards.DECK & ~board;
+        for (long first = unseen; first != 0; first &= first - 1) {
+            long card = first & -first;
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                best = Math.max(best, BitmaskEvaluator.evaluate(board | card | second & -second));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to get every pair of hole cards that makes the nuts
+     * @param board the set of cards on the board
+     * @param strength the strength of the nuts, as returned by strength
+     * @return the set of hole cards of each pair that makes the nuts
+     */
+    public static long[] holdings(long board, int strength) {
+        checkBoard(board);
+        long[] holdings = new long[16];
+        int count = 0;
+        long unseen = Cards.DECK & ~board;
+        for (long first = unseen; first != 0; first &= first - 1) {
+            long card = first & -first;
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                long hole = card | second & -second;
+                if (BitmaskEvaluator.evaluate(board | hole) == strength) {
+                    if (count == holdings.length) {
+                        holdings = Arrays.copyOf(holdings, count * 2);
+                    }
+                    holdings[count++] = hole;
+                }
+            }
+        }
+        return Arrays.copyOf(holdings, count);
+    }
+
+    /**
+     * Helper method to check the size of a board
+     * @param board the set of cards on the board
+     * @throws IllegalArgumentException if the board does not hold three to five cards
+     */
+    private static void checkBoard(long board) {
+        int size = Long.bitCount(board);
+        if (size < MIN_BOARD || size > MAX_BOARD) {
+            throw new IllegalArgumentException("A board holds " + MIN_BOARD + " to " + MAX_BOARD + " cards");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.poker_api.eval;
+
+/**
+ * Class to find the outs of a hand, the unseen cards that improve it
+ * Works on the same rank sets as BitmaskEvaluator: the sets of the hand
+ * are built once and each unseen card only adds its rank to them, so
+ * every out is found with a few bitwise operations and one evaluation
+ * of the sets, without building a set of cards per unseen card
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class Outs {
+
+    /** The number of cards of a suit that make a flush */
+    private static final int FLUSH_CARDS = 5;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private Outs() {
+        // Static methods only
+    }
+
+    /**
+     * Method to find the unseen cards that improve the category of a hand
+     * @param cards the set of cards in the hand
+     * @param counts filled with the number of outs to each category, indexed
+     * by the ordinal of HandCategory
+     * @return the set of unseen cards that improve the category of the hand
+     */
+    public static long improving(long cards, int[] counts) {
+        int[] suits = new int[Cards.SUITS];
+        int ranks = 0;
+        int twoOrMore = 0;
+        int threeOrMore = 0;
+        int quads = 0;
+        int flushSuit = -1;
+        for (int suit = 0; suit < Cards.SUITS; suit++) {
+            int mask = Cards.suitMask(cards, suit);
+            quads |= threeOrMore & mask;
+            threeOrMore |= twoOrMore & mask;
+            twoOrMore |= ranks & mask;
+            ranks |= mask;
+            suits[suit] = mask;
+            if (Integer.bitCount(mask) >= FLUSH_CARDS) {
+                flushSuit = suit;
+            }
+        }
+        int current = BitmaskEvaluator.category(BitmaskEvaluator.evaluate(ranks, twoOrMore, threeOrMore, quads,
+                flushSuit < 0 ? 0 : suits[flushSuit])).ordinal();
+
+        long outs = 0;
+        for (int suit = 0; suit < Cards.SUITS; suit++) {
+            boolean makesFlush = Integer.bitCount(suits[suit]) + 1 >= FLUSH_CARDS;
+            for (int unseen = ~suits[suit] & Cards.RANK_MASK; unseen != 0; unseen &= unseen - 1) {
+                int bit = unseen & -unseen;
+                int flush = makesFlush ? suits[suit] | bit : flushSuit < 0 ? 0 : suits[flushSuit];
+                int strength = BitmaskEvaluator.evaluate(ranks | bit, twoOrMore | ranks & bit,
+                        threeOrMore | twoOrMore & bit, quads | threeOrMore & bit, flush);
+                int category = BitmaskEvaluator.category(strength).ordinal();
+                if (category > current) {
+                    counts[category]++;
+                    outs |= 1L << Cards.code(Integer.numberOfTrailingZeros(bit), suit);
+                }
+            }
+        }
+        return outs;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.poker_api.eval;
+
+/**
+ * Class to evaluate hands the slow and obvious way, as the reference the
+ * faster evaluators are checked against
+ * Every five card hand of the cards is scored on its own from the count of
+ * each rank, and the best score is kept. Hands of fewer than five cards are
+ * scored as they are. The scores use the same strengths as BitmaskEvaluator
+ * so the two can be compared exactly
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class ReferenceEvaluator {
+
+    /** The number of cards of a scored hand */
+    private static final int HAND_CARDS = 5;
+
+    /** The rank of an ace */
+    private static final int ACE = 12;
+
+    /** The rank of a five, the high card of the wheel */
+    private static final int FIVE = 3;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private ReferenceEvaluator() {
+        // Static methods only
+    }
+
+    /**
+     * Method to evaluate the strength of a set of cards
+     * @param cards the set of one to seven cards, as built by Cards
+     * @return the strength of the best five card hand
+     * @throws IllegalArgumentException if the set does not hold one to seven cards
+     */
+    public static int evaluate(long cards) {
+        int size = Long.bitCount(cards);
+        if (size < 1 || size > 7 || (cards & ~Cards.DECK) != 0) {
+            throw new IllegalArgumentException("The reference evaluates hands of 1 to 7 cards");
+        }
+        int[] codes = new int[size];
+        for (int i = 0; cards != 0; i++, cards &= cards - 1) {
+            codes[i] = Long.numberOfTrailingZeros(cards);
+        }
+        if (size <= HAND_CARDS) {
+            return score(codes);
+        }
+        int best = -1;
+        int[] hand = new int[HAND_CARDS];
+        // Leave out every choice of size - 5 cards
+        for (int skipped = 0; skipped < 1 << size; skipped++) {
+            if (Integer.bitCount(skipped) != size - HAND_CARDS) {
+                continue;
+            }
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if ((skipped & 1 << i) == 0) {
+                    hand[n++] = codes[i];
+                }
+            }
+            best = Math.max(best, score(hand));
+        }
+        return best;
+    }
+
+    /**
+     * Helper method to score up to five cards
+     * @param hand the codes of the cards
+     * @return the strength of the hand
+     */
+    private static int score(int[] hand) {
+        int[] counts = new int[Cards.RANKS];
+        boolean flush = hand.length == HAND_CARDS;
+        for (int code : hand) {
+            counts[Cards.rank(code)]++;
+            flush &= Cards.suit(code) == Cards.suit(hand[0]);
+        }
+
+        // The ranks ordered by how many of each there are, then by rank
+        int[] order = new int[HAND_CARDS];
+        int distinct = 0;
+        for (int count = 4; count >= 1; count--) {
+            for (int rank = ACE; rank >= 0; rank--) {
+                if (counts[rank] == count) {
+                    order[distinct++] = rank;
+                }
+            }
+        }
+        int top = counts[order[0]];
+        int second = distinct > 1 ? counts[order[1]] : 0;
+
+        int straightHigh = -1;
+        if (distinct == HAND_CARDS) {
+            if (order[0] - order[4] == 4) {
+                straightHigh = order[0];
+            } else if (order[0] == ACE && order[1] == FIVE) {
+                straightHigh = FIVE;
+            }
+        }
+
+        HandCategory category;
+        if (straightHigh >= 0 && flush) {
+            return packed(HandCategory.STRAIGHT_FLUSH, new int[] { straightHigh }, 1);
+        } else if (top == 4) {
+            category = HandCategory.FOUR_OF_A_KIND;
+        } else if (top == 3 && second == 2) {
+            category = HandCategory.FULL_HOUSE;
+        } else if (flush) {
+            category = HandCategory.FLUSH;
+        } else if (straightHigh >= 0) {
+            return packed(HandCategory.STRAIGHT, new int[] { straightHigh }, 1);
+        } else if (top == 3) {
+            category = HandCategory.THREE_OF_A_KIND;
+        } else if (top == 2 && second == 2) {
+            category = HandCategory.TWO_PAIR;
+        } else if (top == 2) {
+            category = HandCategory.PAIR;
+        } else {
+            category = HandCategory.HIGH_CARD;
+        }
+        return packed(category, order, distinct);
+    }
+
+    /**
+     * Helper method to pack a category and its tie breaking ranks into a strength
+     * @param category the category of the hand
+     * @param ranks the tie breaking ranks, most significant first
+     * @param count the number of ranks to pack
+     * @return the strength of the hand
+     */
+    private static int packed(HandCategory category, int[] ranks, int count) {
+        int strength = category.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+        for (int i = 0; i < count; i++) {
+            strength |= ranks[i] << (16 - 4 * i);
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.poker_api.flop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.Nuts;
+
+/**
+ * Class to serve the stats of every flop from a precomputed file
+ * The 22,100 flops come down to 1,755 once flops that only differ by
+ * renaming the suits are counted as one. Each of those has a fixed size
+ * record in the file, sorted by its cards in their first suits, so a flop
+ * is looked up by renaming its suits and a binary search of the file,
+ * which is mapped into a segment outside the heap until it is closed
+ *
+ * A record holds the canonical cards (8 bytes), the weight (4), the nut
+ * strength (4), the number of nut combos (2), the number of suits, the
+ * number of ranks, whether a straight is possible and a spare byte, then
+ * the number of hole card pairs making each category (2 bytes each),
+ * all little endian
+ *
+ * The file is built on first start if it is missing and is then reused
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Component
+public class FlopDatabase implements AutoCloseable {
+
+    /** The logger the build of the file is reported to */
+    private static final Logger LOG = LoggerFactory.getLogger(FlopDatabase.class);
+
+    /** The number of suit isomorphic flops */
+    public static final int FLOPS = 1_755;
+
+    /** The first four bytes of a database file, "FLOP" */
+    public static final int MAGIC = 0x464C4F50;
+
+    /** The number of bytes before the records */
+    public static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /** The number of bytes of each record */
+    public static final int RECORD_BYTES = 22 + HandCategory.values().length * Short.BYTES;
+
+    /** The number of bytes of a whole database file */
+    public static final int FILE_BYTES = HEADER_BYTES + FLOPS * RECORD_BYTES;
+
+    /** The number of cards on a flop */
+    private static final int FLOP_CARDS = 3;
+
+    /** Every order of the four suits */
+    private static final int[][] SUIT_ORDERS = suitOrders();
+
+    /** Layout of the bytes of a record */
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    /** Layout of the shorts of a record */
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** Layout of the ints of a record */
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** Layout of the longs of a record */
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** The arena the database is mapped in */
+    private final Arena arena = Arena.ofShared();
+
+    /** The mapped database */
+    private final MemorySegment records;
+
+    /**
+     * Constructs the database from its file, building the file first if it is missing
+     * @param path the database file
+     * @throws UncheckedIOException if the file could not be read or written
+     * @throws IllegalStateException if the file is not a flop database
+     */
+    public FlopDatabase(@Value("${poker.flops.database:flop-database.bin}") Path path) {
+        try {
+            if (!Files.isRegularFile(path)) {
+                long start = System.nanoTime();
+                write(path);
+                LOG.info("Built flop database {} in {} ms", path, (System.nanoTime() - start) / 1_000_000);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                if (channel.size() != FILE_BYTES) {
+                    throw new IllegalStateException("Flop database " + path + " should be " + FILE_BYTES + " bytes");
+                }
+                records = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_BYTES, arena);
+            }
+            if (records.get(INT, 0) != MAGIC || records.get(INT, Integer.BYTES) != FLOPS) {
+                throw new IllegalStateException("Flop database " + path + " has the wrong header");
+            }
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Could not load flop database " + path, e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method to look up the stats of a flop
+     * @param flop the set of the three cards of the flop
+     * @return the stats of the flop
+     * @throws IllegalArgumentException if the set does not hold three cards
+     */
+    public FlopStats lookup(long flop) {
+        if (Long.bitCount(flop) != FLOP_CARDS) {
+            throw new IllegalArgumentException("A flop needs exactly " + FLOP_CARDS + " cards");
+        }
+        long canonical = canonical(flop);
+        int lo = 0;
+        int hi = FLOPS - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long key = records.get(LONG, offset(mid));
+            if (key < canonical) {
+                lo = mid + 1;
+            } else if (key > canonical) {
+                hi = mid - 1;
+            } else {
+                return read(offset(mid));
+            }
+        }
+        throw new IllegalStateException("Flop database has no record of " + Cards.toList(flop));
+    }
+
+    /**
+     * Method to get a flop in its first suits
+     * Of every way of renaming the suits, the one giving the lowest set
+     * of cards is taken, so flops that are the same up to the suits agree
+     * @param flop the set of cards of the flop
+     * @return the set of cards of the canonical flop
+     */
+    public static long canonical(long flop) {
+        long best = Long.MAX_VALUE;
+        for (int[] order : SUIT_ORDERS) {
+            long renamed = 0;
+            for (int suit = 0; suit < Cards.SUITS; suit++) {
+                renamed |= (long) Cards.suitMask(flop, suit) << (order[suit] * Cards.RANKS);
+            }
+            best = Math.min(best, renamed);
+        }
+        return best;
+    }
+
+    /**
+     * Method to work out the stats of every flop
+     * @return the stats of each suit isomorphic flop, by its canonical cards
+     */
+    public static TreeMap<Long, FlopStats> build() {
+        TreeMap<Long, Integer> weights = new TreeMap<>();
+        for (long first = Cards.DECK; first != 0; first &= first - 1) {
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                for (long third = second & second - 1; third != 0; third &= third - 1) {
+                    long flop = (first & -first) | (second & -second) | (third & -third);
+                    weights.merge(canonical(flop), 1, Integer::sum);
+                }
+            }
+        }
+        TreeMap<Long, FlopStats> stats = new TreeMap<>();
+        weights.forEach((flop, weight) -> stats.put(flop, compute(flop, weight)));
+        return stats;
+    }
+
+    /**
+     * Method to build the database file
+     * @param path the file to write
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Path path) throws IOException {
+        TreeMap<Long, FlopStats> stats = build();
+        if (stats.size() != FLOPS) {
+            throw new IllegalStateException("Found " + stats.size() + " flops instead of " + FLOPS);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FLOPS);
+        for (FlopStats flop : stats.values()) {
+            buffer.putLong(flop.getCanonical())
+                    .putInt(flop.getWeight())
+                    .putInt(flop.getNutStrength())
+                    .putShort((short) flop.getNutCombos())
+                    .put((byte) flop.getSuits())
+                    .put((byte) flop.getRanks())
+                    .put((byte) (flop.isStraightPossible() ? 1 : 0))
+                    .put((byte) 0);
+            for (HandCategory category : HandCategory.values()) {
+                buffer.putShort((short) flop.getCategoryCount(category));
+            }
+        }
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "flops", ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Helper method to work out the stats of one flop
+     * @param flop the set of cards of the flop in its first suits
+     * @param weight the number of flops that are the same up to renaming the suits
+     * @return the stats of the flop
+     */
+    private static FlopStats compute(long flop, int weight) {
+        int[] categories = new int[HandCategory.values().length];
+        long unseen = Cards.DECK & ~flop;
+        for (long first = unseen; first != 0; first &= first - 1) {
+            long card = first & -first;
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                categories[BitmaskEvaluator.category(BitmaskEvaluator.evaluate(flop | card | second & -second))
+                        .ordinal()]++;
+            }
+        }
+        int suits = 0;
+        int rankBits = 0;
+        for (int suit = 0; suit < Cards.SUITS; suit++) {
+            int mask = Cards.suitMask(flop, suit);
+            suits += mask != 0 ? 1 : 0;
+            rankBits |= mask;
+        }
+        int nutStrength = Nuts.strength(flop);
+        return new FlopStats(flop, weight, suits, Integer.bitCount(rankBits), straightPossible(rankBits),
+                nutStrength, Nuts.holdings(flop, nutStrength).length, categories);
+    }
+
+    /**
+     * Helper method to check whether two more ranks can make a straight with some ranks
+     * @param rankBits the rank bits of the flop
+     * @return true if the ranks are all different and fit in a run of five
+     */
+    private static boolean straightPossible(int rankBits) {
+        if (Integer.bitCount(rankBits) != FLOP_CARDS) {
+            return false;
+        }
+        for (int high = 3; high < Cards.RANKS; high++) {
+            // The five high straight plays the ace low
+            int window = high == 3 ? 0b1111 | 1 << (Cards.RANKS - 1) : 0b11111 << (high - 4);
+            if ((rankBits & ~window) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unmaps the database, after which it can not be used
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Helper method to get the offset of a record
+     * @param index the index of the record
+     * @return the offset of the record in the file
+     */
+    private static long offset(int index) {
+        return HEADER_BYTES + (long) index * RECORD_BYTES;
+    }
+
+    /**
+     * Helper method to read the record at an offset
+     * @param offset the offset of the record in the file
+     * @return the stats of the record
+     */
+    private FlopStats read(long offset) {
+        int[] categories = new int[HandCategory.values().length];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = records.get(SHORT, offset + 22 + i * Short.BYTES);
+        }
+        return new FlopStats(records.get(LONG, offset), records.get(INT, offset + 8), records.get(BYTE, offset + 18),
+                records.get(BYTE, offset + 19), records.get(BYTE, offset + 20) != 0, records.get(INT, offset + 12),
+                records.get(SHORT, offset + 16), categories);
+    }
+
+    /**
+     * Helper method to list every order of the four suits
+     * @return the 24 orders, each giving the new index of every suit
+     */
+    private static int[][] suitOrders() {
+        int[][] orders = new int[24][];
+        int n = 0;
+        for (int a = 0; a < Cards.SUITS; a++) {
+            for (int b = 0; b < Cards.SUITS; b++) {
+                for (int c = 0; c < Cards.SUITS; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d >= 0 && d < Cards.SUITS && d != a && d != b && d != c) {
+                        orders[n++] = new int[] { a, b, c, d };
+                    }
+                }
+            }
+        }
+        return orders;
+    }
+}
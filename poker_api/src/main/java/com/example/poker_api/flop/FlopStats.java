@@ -0,0 +1,125 @@
+package com.example.poker_api.flop;
+
+import com.example.poker_api.eval.HandCategory;
+
+/**
+ * Class to represent the stored stats of one suit isomorphic flop
+ * Every flop that is the same up to renaming the suits shares these
+ * stats, so they are kept once for the flop in its first suits
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class FlopStats {
+
+    /** The set of cards of the flop in its first suits */
+    private final long canonical;
+
+    /** The number of flops that are the same up to renaming the suits */
+    private final int weight;
+
+    /** The number of different suits on the flop, from 1 to 3 */
+    private final int suits;
+
+    /** The number of different ranks on the flop, from 1 to 3 */
+    private final int ranks;
+
+    /** Whether two hole cards can make a straight with the flop */
+    private final boolean straightPossible;
+
+    /** The strength of the nuts */
+    private final int nutStrength;
+
+    /** The number of pairs of hole cards that make the nuts */
+    private final int nutCombos;
+
+    /** The number of pairs of hole cards that make each category, by ordinal */
+    private final int[] categories;
+
+    /**
+     * Constructs the stats of a flop
+     * @param canonical the set of cards of the flop in its first suits
+     * @param weight the number of flops that are the same up to renaming the suits
+     * @param suits the number of different suits on the flop
+     * @param ranks the number of different ranks on the flop
+     * @param straightPossible whether two hole cards can make a straight with the flop
+     * @param nutStrength the strength of the nuts
+     * @param nutCombos the number of pairs of hole cards that make the nuts
+     * @param categories the number of pairs of hole cards that make each category, by ordinal
+     */
+    public FlopStats(long canonical, int weight, int suits, int ranks, boolean straightPossible,
+            int nutStrength, int nutCombos, int[] categories) {
+        this.canonical = canonical;
+        this.weight = weight;
+        this.suits = suits;
+        this.ranks = ranks;
+        this.straightPossible = straightPossible;
+        this.nutStrength = nutStrength;
+        this.nutCombos = nutCombos;
+        this.categories = categories;
+    }
+
+    /**
+     * Method to get the flop in its first suits
+     * @return the set of cards of the canonical flop
+     */
+    public long getCanonical() {
+        return canonical;
+    }
+
+    /**
+     * Method to get how many flops share these stats
+     * @return the number of flops that are the same up to renaming the suits
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Method to get the number of different suits on the flop
+     * @return 1 for monotone, 2 for two tone and 3 for rainbow
+     */
+    public int getSuits() {
+        return suits;
+    }
+
+    /**
+     * Method to get the number of different ranks on the flop
+     * @return 3 for unpaired, 2 for paired and 1 for trips
+     */
+    public int getRanks() {
+        return ranks;
+    }
+
+    /**
+     * Method to check whether two hole cards can make a straight with the flop
+     * @return true if a straight is possible
+     */
+    public boolean isStraightPossible() {
+        return straightPossible;
+    }
+
+    /**
+     * Method to get the strength of the nuts
+     * @return the strength of the best hand any two hole cards make
+     */
+    public int getNutStrength() {
+        return nutStrength;
+    }
+
+    /**
+     * Method to get the number of pairs of hole cards that make the nuts
+     * @return the number of nut combos
+     */
+    public int getNutCombos() {
+        return nutCombos;
+    }
+
+    /**
+     * Method to get how many pairs of hole cards make a category
+     * @param category the category of hand
+     * @return the number of the 1,176 pairs of hole cards that make it
+     */
+    public int getCategoryCount(HandCategory category) {
+        return categories[category.ordinal()];
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.poker_api.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.poker_api.eval.HandCategory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Class to record the metrics of the Poker API
+ * Wraps the Micrometer registry so the controllers only deal with
+ * poker concepts (endpoints, categories, caches) and not meter names
+ * All meters are exposed on the Prometheus scrape endpoint
+ * The meters used on every hand are looked up once and kept, so
+ * recording them on the batch paths does not create objects
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Component
+public class PokerMetrics {
+
+    /** Name of the request latency timer */
+    public static final String REQUEST_TIMER = "poker.request";
+
+    /** Name of the evaluation counter */
+    public static final String EVALUATIONS = "poker.evaluations";
+
+    /** Name of the parse failure counter */
+    public static final String PARSE_FAILURES = "poker.parse.failures";
+
+    /** Name of the cards per request summary */
+    public static final String CARDS_PER_REQUEST = "poker.request.cards";
+
+    /** Name of the cache access counter */
+    public static final String CACHE_REQUESTS = "poker.cache.requests";
+
+    /** Name of the evaluator latency timer, recorded on shadowed evaluations */
+    public static final String EVALUATOR_TIMER = "poker.evaluator";
+
+    /** Name of the counter of shadowed evaluations */
+    public static final String SHADOW_COMPARISONS = "poker.evaluator.shadow";
+
+    /** The registry we are recording to */
+    private final MeterRegistry registry;
+
+    /** The evaluation counter of each category, indexed by ordinal */
+    private final Counter[] evaluations;
+
+    /** The request timer of each endpoint */
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    /** The cards per request summary of each endpoint */
+    private final Map<String, DistributionSummary> cardSummaries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the poker metrics with the registry to record to
+     * @param registry the registry we are recording to
+     */
+    public PokerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        HandCategory[] categories = HandCategory.values();
+        evaluations = new Counter[categories.length];
+        for (HandCategory category : categories) {
+            evaluations[category.ordinal()] = Counter.builder(EVALUATIONS)
+                    .description("Number of evaluated hands per category")
+                    .tag("category", category.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Method to start timing a request
+     * @return the sample to stop once the request is done
+     */
+    public Timer.Sample startRequest() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Method to stop timing a request
+     * Publishes a percentile histogram along with the
+     * p50, p95 and p99 for each endpoint
+     * @param sample the sample returned by startRequest
+     * @param endpoint the endpoint the request was made to
+     */
+    public void stopRequest(Timer.Sample sample, String endpoint) {
+        sample.stop(requestTimers.computeIfAbsent(endpoint, name -> Timer.builder(REQUEST_TIMER)
+                .description("Latency of poker API requests")
+                .tag("endpoint", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry)));
+    }
+
+    /**
+     * Method to record the category of an evaluated hand
+     * @param category the category of the hand
+     */
+    public void recordEvaluation(HandCategory category) {
+        evaluations[category.ordinal()].increment();
+    }
+
+    /**
+     * Method to record the categories of a batch of evaluated hands
+     * @param counts the number of hands of each category, indexed by ordinal
+     */
+    public void recordEvaluations(int[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                evaluations[i].increment(counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Method to record a request body that could not be parsed
+     * @param endpoint the endpoint the request was made to
+     * @param reason the type of failure: body, cards or options out of bounds
+     */
+    public void recordParseFailure(String endpoint, String reason) {
+        Counter.builder(PARSE_FAILURES)
+                .description("Number of requests with a body, cards or options that could not be used")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Method to record the number of cards sent in a request
+     * @param endpoint the endpoint the request was made to
+     * @param cards the number of cards in the request
+     */
+    public void recordCards(String endpoint, int cards) {
+        cardSummaries.computeIfAbsent(endpoint, name -> DistributionSummary.builder(CARDS_PER_REQUEST)
+                .description("Number of cards per request")
+                .baseUnit("cards")
+                .tag("endpoint", name)
+                .serviceLevelObjectives(2, 5, 6, 7)
+                .register(registry))
+                .record(cards);
+    }
+
+    /**
+     * Method to record a lookup in one of the caches
+     * The hit rate is hits divided by all requests for the cache
+     * @param cache the name of the cache
+     * @param hit if the lookup was a hit or not
+     */
+    public void recordCacheAccess(String cache, boolean hit) {
+        Counter.builder(CACHE_REQUESTS)
+                .description("Number of cache lookups")
+                .tag("cache", cache)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Method to record an evaluation that was also run on the shadow engine
+     * @param primary the name of the engine whose result is used
+     * @param primaryNanos the time the primary engine took in nanoseconds
+     * @param shadow the name of the engine run alongside it
+     * @param shadowNanos the time the shadow engine took in nanoseconds
+     * @param agreed if both engines gave the same strength or not
+     */
+    public void recordShadowComparison(String primary, long primaryNanos, String shadow, long shadowNanos,
+            boolean agreed) {
+        evaluatorTimer(primary, "primary").record(primaryNanos, TimeUnit.NANOSECONDS);
+        evaluatorTimer(shadow, "shadow").record(shadowNanos, TimeUnit.NANOSECONDS);
+        Counter.builder(SHADOW_COMPARISONS)
+                .description("Number of evaluations also run on the shadow engine")
+                .tag("primary", primary)
+                .tag("shadow", shadow)
+                .tag("result", agreed ? "agree" : "disagree")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Helper method to get the latency timer of an engine
+     * @param engine the name of the engine
+     * @param role whether the engine is the primary or the shadow
+     * @return the timer of the engine
+     */
+    private Timer evaluatorTimer(String engine, String role) {
+        return Timer.builder(EVALUATOR_TIMER)
+                .description("Time to evaluate a hand, sampled by the shadow mode")
+                .tag("engine", engine)
+                .tag("role", role)
+                .register(registry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.poker_api.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.EvaluatorType;
+import com.example.poker_api.eval.HandEvaluator;
+
+/**
+ * Class to try a second evaluation engine on live traffic
+ * Every hand is evaluated by the primary engine and its result is used.
+ * A sampled share of hands is also evaluated by the shadow engine on the
+ * same thread, and the latency of both and whether they agreed are
+ * recorded. The shadow engine can never change or fail a result
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class ShadowEvaluator implements HandEvaluator {
+
+    /** The logger the first disagreements are written to */
+    private static final Logger LOG = LoggerFactory.getLogger(ShadowEvaluator.class);
+
+    /** The most disagreements written to the log, later ones are only counted */
+    private static final int MAX_LOGGED = 100;
+
+    /** The type of the engine whose results are used */
+    private final EvaluatorType primaryType;
+
+    /** The engine whose results are used */
+    private final HandEvaluator primary;
+
+    /** The type of the engine run alongside it */
+    private final EvaluatorType shadowType;
+
+    /** The engine run alongside it */
+    private final HandEvaluator shadow;
+
+    /** The share of hands also evaluated by the shadow engine, from 0 to 1 */
+    private final double sampleRate;
+
+    /** The metrics we are recording to */
+    private final PokerMetrics metrics;
+
+    /** The number of disagreements so far */
+    private final AtomicLong disagreements = new AtomicLong();
+
+    /**
+     * Constructs a shadowed evaluator
+     * @param primaryType the type of the engine whose results are used
+     * @param shadowType the type of the engine run alongside it
+     * @param sampleRate the share of hands also evaluated by the shadow engine, from 0 to 1
+     * @param metrics the metrics we are recording to
+     * @throws IllegalArgumentException if the sample rate is not between 0 and 1
+     */
+    public ShadowEvaluator(EvaluatorType primaryType, EvaluatorType shadowType, double sampleRate,
+            PokerMetrics metrics) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("The shadow sample rate must be between 0 and 1");
+        }
+        this.primaryType = primaryType;
+        this.primary = primaryType.create();
+        this.shadowType = shadowType;
+        this.shadow = shadowType.create();
+        this.sampleRate = sampleRate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Method to evaluate a hand with the primary engine, and sometimes the shadow engine too
+     * @param cards the set of one to seven cards, as built by Cards
+     * @return the strength from the primary engine
+     */
+    @Override
+    public int evaluate(long cards) {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return primary.evaluate(cards);
+        }
+        long start = System.nanoTime();
+        int strength = primary.evaluate(cards);
+        long middle = System.nanoTime();
+        int shadowStrength;
+        try {
+            shadowStrength = shadow.evaluate(cards);
+        } catch (RuntimeException e) {
+            // Counted as a disagreement
+            shadowStrength = -1;
+        }
+        long end = System.nanoTime();
+
+        boolean agreed = strength == shadowStrength;
+        metrics.recordShadowComparison(primaryType.getName(), middle - start, shadowType.getName(), end - middle,
+                agreed);
+        if (!agreed && disagreements.incrementAndGet() <= MAX_LOGGED) {
+            LOG.warn("Evaluator {} disagrees with {} on {}: 0x{} instead of 0x{}", shadowType.getName(),
+                    primaryType.getName(), Cards.toList(cards), Integer.toHexString(shadowStrength),
+                    Integer.toHexString(strength));
+        }
+        return strength;
+    }
+
+    /**
+     * Method to get the number of disagreements so far
+     * @return the number of sampled hands the engines disagreed on
+     */
+    public long getDisagreements() {
+        return disagreements.get();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.poker_api.preflop;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class to answer heads up preflop equity from a precomputed table
+ * The table file is written by PreflopTableGenerator and memory mapped
+ * into a segment outside the heap, so a lookup is one read at a fixed
+ * offset and the mapping is released as soon as the table is closed
+ * rather than when the collector gets to it. It holds a header followed
+ * by a little endian pair of floats for every ordered pair of classes:
+ * how often the first class wins and how often the two tie
+ *
+ * If the file is missing the table is left unloaded and the lookups
+ * are turned away until it is generated and the server restarted
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Component
+public class PreflopTable implements AutoCloseable {
+
+    /** The logger a missing table is reported to */
+    private static final Logger LOG = LoggerFactory.getLogger(PreflopTable.class);
+
+    /** The first four bytes of a table file, "PF69" */
+    public static final int MAGIC = 0x50463639;
+
+    /** The number of bytes before the entries */
+    public static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /** The number of bytes of each entry */
+    public static final int ENTRY_BYTES = 2 * Float.BYTES;
+
+    /** The number of bytes of a whole table file */
+    public static final int FILE_BYTES = HEADER_BYTES + StartingHands.CLASSES * StartingHands.CLASSES * ENTRY_BYTES;
+
+    /** Layout of the ints of the header */
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** Layout of the floats of the entries */
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** The arena the table is mapped in, or null if there is no table file */
+    private final Arena arena;
+
+    /** The mapped table, or null if there is no table file */
+    private final MemorySegment table;
+
+    /**
+     * Constructs the table from its file
+     * @param path the table file
+     * @throws UncheckedIOException if the file exists but could not be read
+     * @throws IllegalStateException if the file is not a preflop table
+     */
+    public PreflopTable(@Value("${poker.preflop.table:preflop-equity.bin}") Path path) {
+        if (!Files.isRegularFile(path)) {
+            LOG.warn("No preflop table at {}, generate one with --mode=preflop-table", path.toAbsolutePath());
+            arena = null;
+            table = null;
+            return;
+        }
+        arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != FILE_BYTES) {
+                throw new IllegalStateException("Preflop table " + path + " should be " + FILE_BYTES + " bytes");
+            }
+            table = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_BYTES, arena);
+            if (table.get(INT, 0) != MAGIC || table.get(INT, Integer.BYTES) != StartingHands.CLASSES) {
+                throw new IllegalStateException("Preflop table " + path + " has the wrong header");
+            }
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Could not read preflop table " + path, e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method to check whether a table file was loaded
+     * @return true if lookups can be answered
+     */
+    public boolean isLoaded() {
+        return table != null;
+    }
+
+    /**
+     * Method to get how often one class beats another
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     * @return the share of matchups the first class wins outright
+     */
+    public double win(int hero, int villain) {
+        return table.get(FLOAT, offset(hero, villain));
+    }
+
+    /**
+     * Method to get how often two classes tie
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     * @return the share of matchups that are tied
+     */
+    public double tie(int hero, int villain) {
+        return table.get(FLOAT, offset(hero, villain) + Float.BYTES);
+    }
+
+    /**
+     * Method to get the equity of one class against another
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     * @return the share of the pot the first class wins on average
+     */
+    public double equity(int hero, int villain) {
+        return win(hero, villain) + tie(hero, villain) / 2;
+    }
+
+    /**
+     * Unmaps the table, after which it can not be used
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Helper method to get the offset of an entry
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     * @return the offset of the entry in the file
+     */
+    private static long offset(int hero, int villain) {
+        return HEADER_BYTES + (long) (hero * StartingHands.CLASSES + villain) * ENTRY_BYTES;
+    }
+}
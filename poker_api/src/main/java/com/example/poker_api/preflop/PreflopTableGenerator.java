@@ -0,0 +1,223 @@
+package com.example.poker_api.preflop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.example.poker_api.cli.Options;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.range.HandRange;
+
+/**
+ * Command line mode that computes the exact heads up equity of every
+ * class of starting hands against every other and writes the table
+ * PreflopTable serves
+ *
+ * Every combo of a class is the same up to renaming suits, so each class
+ * is played as one combo against every combo it does not block, and the
+ * results are averaged over the combos of each opposing class. A matchup
+ * deals all 1,712,304 boards. Matchups that only differ by renaming the
+ * suits the first combo does not use are dealt once, and only half of
+ * the table is dealt since the other half is the same matchups the other
+ * way round
+ *
+ * Started with: --mode=preflop-table [--out=preflop-equity.bin]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class PreflopTableGenerator {
+
+    /** The number of boards dealt in a matchup, 48 choose 5 */
+    private static final long BOARDS = 1_712_304;
+
+    /**
+     * Private constructor since this class only has static methods
+     */
+    private PreflopTableGenerator() {
+        // Static methods only
+    }
+
+    /**
+     * Runs the generator from the command line
+     * @param args the options of the generator
+     * @throws IOException if the table could not be written
+     */
+    public static void run(String[] args) throws IOException {
+        Path output = Path.of(new Options(args).get("out", "preflop-equity.bin"));
+        long start = System.nanoTime();
+        AtomicInteger done = new AtomicInteger();
+        double[][] table = generate(hero -> System.out.printf("%s done (%d/%d)%n",
+                StartingHands.name(hero), done.incrementAndGet(), StartingHands.CLASSES));
+        write(output, table[0], table[1]);
+        System.out.printf("Wrote %s in %.1f s%n", output, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Method to compute the whole table
+     * @param progress called with each class once its row is done
+     * @return the win and tie shares, indexed by first class times 169 plus second class
+     */
+    public static double[][] generate(IntConsumer progress) {
+        int classes = StartingHands.CLASSES;
+        double[] win = new double[classes * classes];
+        double[] tie = new double[classes * classes];
+        IntStream.range(0, classes).parallel().forEach(hero -> {
+            row(hero, win, tie);
+            progress.accept(hero);
+        });
+        // The lower half is the upper half the other way round
+        for (int hero = 0; hero < classes; hero++) {
+            for (int villain = 0; villain < classes; villain++) {
+                if (!computed(hero, villain)) {
+                    int mirror = villain * classes + hero;
+                    win[hero * classes + villain] = 1 - win[mirror] - tie[mirror];
+                    tie[hero * classes + villain] = tie[mirror];
+                }
+            }
+        }
+        return new double[][] { win, tie };
+    }
+
+    /**
+     * Method to write a table file
+     * @param output the file to write
+     * @param win the win shares, indexed by first class times 169 plus second class
+     * @param tie the tie shares, indexed the same way
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Path output, double[] win, double[] tie) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PreflopTable.FILE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(PreflopTable.MAGIC).putInt(StartingHands.CLASSES);
+        for (int i = 0; i < win.length; i++) {
+            buffer.putFloat((float) win[i]).putFloat((float) tie[i]);
+        }
+        Files.write(output, buffer.array());
+    }
+
+    /**
+     * Method to deal every board for one pair of combos
+     * @param hero the set of cards of the first combo
+     * @param villain the set of cards of the second combo
+     * @return the number of boards the first combo wins and the number that are tied
+     */
+    public static long[] matchup(long hero, long villain) {
+        int[] deck = new int[Cards.DECK_SIZE - 4];
+        long rest = Cards.DECK & ~(hero | villain);
+        for (int i = 0; rest != 0; i++, rest &= rest - 1) {
+            deck[i] = Long.numberOfTrailingZeros(rest);
+        }
+        long wins = 0;
+        long ties = 0;
+        int n = deck.length;
+        for (int a = 0; a < n - 4; a++) {
+            long b1 = 1L << deck[a];
+            for (int b = a + 1; b < n - 3; b++) {
+                long b2 = b1 | 1L << deck[b];
+                for (int c = b + 1; c < n - 2; c++) {
+                    long b3 = b2 | 1L << deck[c];
+                    for (int d = c + 1; d < n - 1; d++) {
+                        long b4 = b3 | 1L << deck[d];
+                        for (int e = d + 1; e < n; e++) {
+                            long board = b4 | 1L << deck[e];
+                            int compare = Integer.compare(BitmaskEvaluator.evaluate(board | hero),
+                                    BitmaskEvaluator.evaluate(board | villain));
+                            if (compare > 0) {
+                                wins++;
+                            } else if (compare == 0) {
+                                ties++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new long[] { wins, ties };
+    }
+
+    /**
+     * Helper method to compute one row of the upper half of the table
+     * @param hero the index of the first class
+     * @param win the win shares to fill in
+     * @param tie the tie shares to fill in
+     */
+    private static void row(int hero, double[] win, double[] tie) {
+        int classes = StartingHands.CLASSES;
+        long heroCards = StartingHands.representative(hero);
+        double[] wins = new double[classes];
+        double[] ties = new double[classes];
+        int[] combos = new int[classes];
+        Map<Long, double[]> dealt = new HashMap<>();
+        for (int index = 0; index < HandRange.COMBOS; index++) {
+            long villainCards = HandRange.cards(index);
+            int villain = StartingHands.index(villainCards);
+            if ((villainCards & heroCards) != 0 || !computed(hero, villain)) {
+                continue;
+            }
+            double[] shares = dealt.computeIfAbsent(canonical(heroCards, villainCards), key -> {
+                long[] counts = matchup(heroCards, villainCards);
+                return new double[] { counts[0] / (double) BOARDS, counts[1] / (double) BOARDS };
+            });
+            wins[villain] += shares[0];
+            ties[villain] += shares[1];
+            combos[villain]++;
+        }
+        for (int villain = 0; villain < classes; villain++) {
+            if (combos[villain] > 0) {
+                win[hero * classes + villain] = wins[villain] / combos[villain];
+                tie[hero * classes + villain] = ties[villain] / combos[villain];
+            }
+        }
+    }
+
+    /**
+     * Helper method to check whether an entry is dealt or mirrored
+     * @param hero the index of the first class
+     * @param villain the index of the second class
+     * @return true if the entry is in the half of the table that is dealt
+     */
+    private static boolean computed(int hero, int villain) {
+        return hero <= villain;
+    }
+
+    /**
+     * Helper method to rename the suits of a matchup the first combo does not use
+     * The first combo keeps its suits and the second combo's other suits are
+     * renamed in the order they appear, so matchups that are the same up to
+     * those suits get the same key
+     * @param hero the set of cards of the first combo, in the first suits
+     * @param villain the set of cards of the second combo
+     * @return the second combo with its suits renamed
+     */
+    private static long canonical(long hero, long villain) {
+        int[] rename = { -1, -1, -1, -1 };
+        int next = 0;
+        for (long rest = hero; rest != 0; rest &= rest - 1) {
+            int suit = Cards.suit(Long.numberOfTrailingZeros(rest));
+            if (rename[suit] < 0) {
+                rename[suit] = suit;
+                next = Math.max(next, suit + 1);
+            }
+        }
+        // Take the higher card first so both orders of a pair agree
+        int high = 63 - Long.numberOfLeadingZeros(villain);
+        int low = Long.numberOfTrailingZeros(villain);
+        int[] cards = Cards.rank(high) >= Cards.rank(low) ? new int[] { high, low } : new int[] { low, high };
+        long result = 0;
+        for (int card : cards) {
+            int suit = Cards.suit(card);
+            if (rename[suit] < 0) {
+                rename[suit] = next++;
+            }
+            result |= 1L << Cards.code(Cards.rank(card), rename[suit]);
+        }
+        return result;
+    }
+}
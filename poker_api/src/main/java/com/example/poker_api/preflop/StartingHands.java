@@ -0,0 +1,102 @@
+package com.example.poker_api.preflop;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Utility class for the 169 classes of starting hands
+ * Classes are laid out on the usual 13 by 13 grid, indexed row times 13
+ * plus column: pairs on the diagonal, suited hands with the higher rank
+ * as the row and offsuit hands with the lower rank as the row
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class StartingHands {
+
+    /** The number of classes of starting hands */
+    public static final int CLASSES = Cards.RANKS * Cards.RANKS;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private StartingHands() {
+        // Static methods only
+    }
+
+    /**
+     * Method to get the class of a combo
+     * @param combo the set of the two cards of the combo
+     * @return the index of the class
+     */
+    public static int index(long combo) {
+        int first = Long.numberOfTrailingZeros(combo);
+        int second = 63 - Long.numberOfLeadingZeros(combo);
+        int high = Math.max(Cards.rank(first), Cards.rank(second));
+        int low = Math.min(Cards.rank(first), Cards.rank(second));
+        return index(high, low, Cards.suit(first) == Cards.suit(second));
+    }
+
+    /**
+     * Method to get the class of a pair of ranks
+     * @param high the higher rank
+     * @param low the lower rank, the same as the higher for a pair
+     * @param suited whether the two cards share a suit, ignored for a pair
+     * @return the index of the class
+     */
+    public static int index(int high, int low, boolean suited) {
+        return suited || high == low ? high * Cards.RANKS + low : low * Cards.RANKS + high;
+    }
+
+    /**
+     * Method to parse a class such as "AKs", "AKo" or "QQ", or a combo such as "AhKh"
+     * @param name the name of the class or the cards of a combo
+     * @return the index of the class
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    public static int parse(String name) {
+        if (name.length() == 4 && Cards.suitIndex(name.charAt(1)) >= 0) {
+            long first = 1L << Cards.parse(name.substring(0, 2));
+            long second = 1L << Cards.parse(name.substring(2));
+            if (first == second) {
+                throw new IllegalArgumentException("Duplicate card: " + name);
+            }
+            return index(first | second);
+        }
+        int a = name.isEmpty() ? -1 : Cards.rankIndex(name.charAt(0));
+        int b = name.length() < 2 ? -1 : Cards.rankIndex(name.charAt(1));
+        boolean pair = a == b;
+        boolean valid = a >= 0 && b >= 0 && (pair ? name.length() == 2
+                : name.length() == 3 && (name.charAt(2) == 's' || name.charAt(2) == 'o'));
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid starting hand: " + name);
+        }
+        return index(Math.max(a, b), Math.min(a, b), !pair && name.charAt(2) == 's');
+    }
+
+    /**
+     * Method to get the name of a class
+     * @param index the index of the class
+     * @return the name such as "AKs", "AKo" or "QQ"
+     */
+    public static String name(int index) {
+        int row = index / Cards.RANKS;
+        int column = index % Cards.RANKS;
+        if (row == column) {
+            return "" + Cards.rankChar(row) + Cards.rankChar(row);
+        }
+        String ranks = "" + Cards.rankChar(Math.max(row, column)) + Cards.rankChar(Math.min(row, column));
+        return ranks + (row > column ? 's' : 'o');
+    }
+
+    /**
+     * Method to get one combo of a class, in the first suits
+     * Every combo of a class is the same up to renaming the suits
+     * @param index the index of the class
+     * @return the set of the two cards of the combo
+     */
+    public static long representative(int index) {
+        int row = index / Cards.RANKS;
+        int column = index % Cards.RANKS;
+        int secondSuit = row > column ? 0 : 1;
+        return 1L << Cards.code(row, 0) | 1L << Cards.code(column, secondSuit);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.poker_api.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import com.example.poker_api.PokerHand;
+import com.example.poker_api.RequestLimitException;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to read and write the compact binary form of hands and results
+ * A hand is a length byte followed by one byte per card holding the
+ * card code from Cards (0 to 51). A result is a 4 byte big endian int
+ * holding the strength from BitmaskEvaluator, which is the category
+ * followed by the tie breaking ranks
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class BinaryHands {
+
+    /** The media type of the binary protocol */
+    public static final String MEDIA_TYPE = "application/octet-stream";
+
+    /** The number of bytes in a result */
+    public static final int RESULT_BYTES = Integer.BYTES;
+
+    /** The fewest bytes a hand can take, a length byte and one card */
+    public static final int MIN_HAND_BYTES = 2;
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private BinaryHands() {
+        // Static methods only
+    }
+
+    /**
+     * Method to check if a buffer holds a whole hand at its position
+     * @param in the buffer to check
+     * @return if the whole hand can be read
+     */
+    public static boolean hasHand(ByteBuffer in) {
+        return in.hasRemaining() && in.remaining() > (in.get(in.position()) & 0xFF);
+    }
+
+    /**
+     * Method to read a hand from a buffer
+     * @param in the buffer positioned at the length byte of the hand
+     * @return the set of cards in the hand
+     * @throws IllegalArgumentException if the hand is truncated, has no
+     * cards or too many cards, or has an invalid or repeated card
+     */
+    public static long readHand(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("Missing hand length");
+        }
+        int length = in.get() & 0xFF;
+        if (length == 0 || length > PokerHand.MAX_CARDS) {
+            throw new IllegalArgumentException("A poker hand holds 1 to " + PokerHand.MAX_CARDS + " cards");
+        }
+        if (in.remaining() < length) {
+            throw new IllegalArgumentException("Truncated hand");
+        }
+        long cards = 0;
+        for (int i = 0; i < length; i++) {
+            int code = in.get() & 0xFF;
+            if (code >= Cards.DECK_SIZE) {
+                throw new IllegalArgumentException("Invalid card code: " + code);
+            }
+            long bit = 1L << code;
+            if ((cards & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate card code: " + code);
+            }
+            cards |= bit;
+        }
+        return cards;
+    }
+
+    /**
+     * Method to write a hand to a buffer
+     * @param cards the set of cards in the hand
+     * @param out the buffer to write to
+     */
+    public static void writeHand(long cards, ByteBuffer out) {
+        out.put((byte) Long.bitCount(cards));
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            out.put((byte) Long.numberOfTrailingZeros(rest));
+        }
+    }
+
+    /**
+     * Method to read a whole request body into a buffer
+     * @param in the channel of the body
+     * @param contentLength the length of the body, or -1 if unknown
+     * @param maxBytes the largest body that is accepted
+     * @return the buffer holding the body, ready to be read
+     * @throws IOException if the body could not be read
+     * @throws RequestLimitException if the body is larger than the maximum
+     */
+    public static ByteBuffer readBody(ReadableByteChannel in, int contentLength, int maxBytes) throws IOException {
+        if (contentLength > maxBytes) {
+            throw new RequestLimitException("Body is larger than " + maxBytes + " bytes");
+        }
+        ByteBuffer body = ByteBuffer.allocate(contentLength >= 0 ? contentLength : 8192);
+        while (in.read(body) >= 0) {
+            if (!body.hasRemaining()) {
+                if (contentLength >= 0) {
+                    break;
+                }
+                if (body.capacity() >= maxBytes) {
+                    throw new RequestLimitException("Body is larger than " + maxBytes + " bytes");
+                }
+                ByteBuffer grown = ByteBuffer.allocate(Math.min(body.capacity() * 2, maxBytes));
+                grown.put(body.flip());
+                body = grown;
+            }
+        }
+        return body.flip();
+    }
+
+    /**
+     * Method to write a whole buffer to a channel
+     * @param out the buffer to write, from its position to its limit
+     * @param channel the channel to write to
+     * @throws IOException if the buffer could not be written
+     */
+    public static void writeFully(ByteBuffer out, WritableByteChannel channel) throws IOException {
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+}
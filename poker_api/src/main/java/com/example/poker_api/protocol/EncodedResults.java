@@ -0,0 +1,113 @@
+package com.example.poker_api.protocol;
+
+import java.nio.charset.StandardCharsets;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+import com.example.poker_api.eval.HandRank;
+
+/**
+ * Class to hold the JSON of every best hand result, encoded once
+ * There are only 7462 distinct five card results (four times as many
+ * texts for flushes, which name their suit), so the bytes of each one,
+ * up to the list of cards, are built when the class is loaded. A
+ * response is then put together by copying that prefix, the bytes of
+ * each card and the closing bytes, which gives the same JSON as
+ * serializing a BestHandResponse
+ *
+ * Results of fewer than five cards do not match a five card result
+ * and are not held here
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class EncodedResults {
+
+    /** The JSON up to the cards of each result, by ordinal rank and then flush suit */
+    private static final byte[][] PREFIXES = buildPrefixes();
+
+    /** The JSON string of each card, by card code */
+    private static final byte[][] CARDS = buildCards();
+
+    /** The JSON that closes a result */
+    private static final byte[] SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Private constructor since this is a utility class
+     */
+    private EncodedResults() {
+        // Static methods only
+    }
+
+    /**
+     * Method to encode the JSON of a best hand
+     * @param strength the strength of the best hand
+     * @param usedCards the set of cards the best hand is made from
+     * @param flushSuit the suit of the flush, or -1
+     * @return the JSON of the result, or null if the result is not held here
+     */
+    public static byte[] encode(int strength, long usedCards, int flushSuit) {
+        int ordinal = HandRank.ordinal(strength);
+        if (HandRank.strength(ordinal) != strength) {
+            return null;
+        }
+        byte[] prefix = PREFIXES[(ordinal - 1) * Cards.SUITS + Math.max(flushSuit, 0)];
+
+        int length = prefix.length + SUFFIX.length + Long.bitCount(usedCards) - 1;
+        for (long rest = usedCards; rest != 0; rest &= rest - 1) {
+            length += CARDS[Long.numberOfTrailingZeros(rest)].length;
+        }
+        byte[] json = new byte[length];
+        System.arraycopy(prefix, 0, json, 0, prefix.length);
+        int position = prefix.length;
+        // Highest rank first, the same order as BestHandResponse
+        for (int rank = Cards.RANKS - 1; rank >= 0; rank--) {
+            for (int suit = Cards.SUITS - 1; suit >= 0; suit--) {
+                int code = Cards.code(rank, suit);
+                if ((usedCards & 1L << code) != 0) {
+                    if (position > prefix.length) {
+                        json[position++] = ',';
+                    }
+                    System.arraycopy(CARDS[code], 0, json, position, CARDS[code].length);
+                    position += CARDS[code].length;
+                }
+            }
+        }
+        System.arraycopy(SUFFIX, 0, json, position, SUFFIX.length);
+        return json;
+    }
+
+    /**
+     * Helper method to build the JSON up to the cards of every result
+     * Only flushes and straight flushes have a different text per suit,
+     * every other result repeats its suit 0 text
+     * The texts are plain ASCII so they need no escaping
+     * @return the prefixes by ordinal rank and then flush suit
+     */
+    private static byte[][] buildPrefixes() {
+        byte[][] prefixes = new byte[HandRank.DISTINCT_HANDS * Cards.SUITS][];
+        for (int ordinal = 1; ordinal <= HandRank.DISTINCT_HANDS; ordinal++) {
+            int strength = HandRank.strength(ordinal);
+            HandCategory category = BitmaskEvaluator.category(strength);
+            for (int suit = 0; suit < Cards.SUITS; suit++) {
+                String json = "{\"bestHand\":\"" + BitmaskEvaluator.describe(strength, suit)
+                        + "\",\"category\":\"" + category.name()
+                        + "\",\"rank\":" + ordinal + ",\"cards\":[";
+                prefixes[(ordinal - 1) * Cards.SUITS + suit] = json.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Helper method to build the JSON string of every card
+     * @return the JSON strings by card code
+     */
+    private static byte[][] buildCards() {
+        byte[][] cards = new byte[Cards.DECK_SIZE][];
+        for (int code = 0; code < Cards.DECK_SIZE; code++) {
+            cards[code] = ("\"" + Cards.toString(code) + "\"").getBytes(StandardCharsets.UTF_8);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,515 @@
+package com.example.poker_api.range;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to represent a range of starting hands
+ * Each of the 1,326 two card combos has one bit in a 21 word bitset, at
+ * the colexicographic index of its pair of card codes. Sizing is a sum of
+ * popcounts and union, intersection, difference and blocker removal are
+ * one operation per word, so ranges are cheap to combine and compare
+ *
+ * Ranges are parsed from the usual notation, a comma separated list of:
+ * pairs (QQ), pairs and up (QQ+), runs of pairs (22-55), suited or
+ * offsuit hands (AKs, AKo, AK for both), hands with the kicker going up
+ * to just below the top card (ATs+), runs with a fixed top card (A2s-A5s)
+ * or a fixed gap (T9s-65s) and single combos (AhKh)
+ *
+ * Ranges are immutable
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public final class HandRange {
+
+    /** The number of two card combos */
+    public static final int COMBOS = Cards.DECK_SIZE * (Cards.DECK_SIZE - 1) / 2;
+
+    /** The number of words of the bitset */
+    public static final int WORDS = (COMBOS + Long.SIZE - 1) / Long.SIZE;
+
+    /** The bits of the last word that stand for a combo */
+    private static final long LAST_WORD = -1L >>> (WORDS * Long.SIZE - COMBOS);
+
+    /** The set of cards of each combo, by index */
+    private static final long[] COMBO_CARDS = new long[COMBOS];
+
+    /** The combos holding each card, by card code */
+    private static final long[][] CARD_COMBOS = new long[Cards.DECK_SIZE][WORDS];
+
+    /** The empty range */
+    private static final HandRange EMPTY = new HandRange(new long[WORDS]);
+
+    /** The range of every combo */
+    private static final HandRange FULL;
+
+    static {
+        for (int high = 1; high < Cards.DECK_SIZE; high++) {
+            for (int low = 0; low < high; low++) {
+                int index = index(low, high);
+                COMBO_CARDS[index] = 1L << low | 1L << high;
+                CARD_COMBOS[low][index >>> 6] |= 1L << index;
+                CARD_COMBOS[high][index >>> 6] |= 1L << index;
+            }
+        }
+        long[] full = new long[WORDS];
+        Arrays.fill(full, -1L);
+        full[WORDS - 1] = LAST_WORD;
+        FULL = new HandRange(full);
+    }
+
+    /** The bitset of the combos in the range */
+    private final long[] words;
+
+    /**
+     * Private constructor that takes over a bitset
+     * @param words the bitset of the combos in the range
+     */
+    private HandRange(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Method to get the empty range
+     * @return the range of no combos
+     */
+    public static HandRange empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Method to get the range of every combo
+     * @return the range of all 1,326 combos
+     */
+    public static HandRange full() {
+        return FULL;
+    }
+
+    /**
+     * Method to get the range of a single combo
+     * @param cards the set of the two cards of the combo
+     * @return the range holding only that combo
+     * @throws IllegalArgumentException if the set does not have two cards
+     */
+    public static HandRange of(long cards) {
+        long[] words = new long[WORDS];
+        int index = index(cards);
+        words[index >>> 6] = 1L << index;
+        return new HandRange(words);
+    }
+
+    /**
+     * Method to parse a range from its notation, such as "QQ+, AKs, T9s-65s"
+     * @param notation the comma separated parts of the range
+     * @return the range
+     * @throws IllegalArgumentException if a part is not valid
+     */
+    public static HandRange parse(String notation) {
+        long[] words = new long[WORDS];
+        for (String part : notation.split(",")) {
+            String token = part.trim();
+            if (!token.isEmpty()) {
+                parsePart(token, words);
+            }
+        }
+        return new HandRange(words);
+    }
+
+    /**
+     * Method to get the index of a combo
+     * @param cards the set of the two cards of the combo
+     * @return the index from 0 to 1325
+     * @throws IllegalArgumentException if the set does not have two cards
+     */
+    public static int index(long cards) {
+        if (Long.bitCount(cards) != 2 || (cards & ~Cards.DECK) != 0) {
+            throw new IllegalArgumentException("A combo needs exactly two cards");
+        }
+        return index(Long.numberOfTrailingZeros(cards), 63 - Long.numberOfLeadingZeros(cards));
+    }
+
+    /**
+     * Method to get the cards of a combo
+     * @param index the index of the combo from 0 to 1325
+     * @return the set of the two cards of the combo
+     */
+    public static long cards(int index) {
+        return COMBO_CARDS[index];
+    }
+
+    /**
+     * Method to get the number of combos in the range
+     * @return the number of combos
+     */
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Method to check whether the range has no combos
+     * @return true if the range is empty
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to check whether a combo is in the range
+     * @param index the index of the combo
+     * @return true if the combo is in the range
+     */
+    public boolean contains(int index) {
+        return (words[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Method to get the range of the combos in this range or another
+     * @param other the other range
+     * @return the union of the ranges
+     */
+    public HandRange union(HandRange other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new HandRange(result);
+    }
+
+    /**
+     * Method to get the range of the combos in both this range and another
+     * @param other the other range
+     * @return the intersection of the ranges
+     */
+    public HandRange intersect(HandRange other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new HandRange(result);
+    }
+
+    /**
+     * Method to get the range of the combos in this range but not another
+     * @param other the other range
+     * @return the difference of the ranges
+     */
+    public HandRange minus(HandRange other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new HandRange(result);
+    }
+
+    /**
+     * Method to remove the combos blocked by some dead cards,
+     * such as the board or another player's hole cards
+     * @param dead the set of cards that cannot be held
+     * @return the range of the combos holding none of the dead cards
+     */
+    public HandRange without(long dead) {
+        long[] result = words.clone();
+        for (long rest = dead & Cards.DECK; rest != 0; rest &= rest - 1) {
+            long[] blocked = CARD_COMBOS[Long.numberOfTrailingZeros(rest)];
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~blocked[i];
+            }
+        }
+        return new HandRange(result);
+    }
+
+    /**
+     * Method to get the indexes of the combos in the range
+     * @return the indexes from lowest to highest
+     */
+    public int[] indexes() {
+        int[] indexes = new int[size()];
+        int n = 0;
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                indexes[n++] = i << 6 | Long.numberOfTrailingZeros(word);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Method to get the cards of every combo in the range
+     * @return the sets of cards, in the order of their indexes
+     */
+    public long[] combos() {
+        int[] indexes = indexes();
+        long[] combos = new long[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            combos[i] = COMBO_CARDS[indexes[i]];
+        }
+        return combos;
+    }
+
+    /**
+     * Method to get the notation of the range
+     * Whole hand classes are written as AA, AKs, AKo or AK and any
+     * other combos one at a time, pairs first and then from the highest cards down
+     * @return the notation of the range
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int rank = Cards.RANKS - 1; rank >= 0; rank--) {
+            appendClass(joiner, "" + Cards.rankChar(rank) + Cards.rankChar(rank), classWords(rank, rank, Suits.PAIR));
+        }
+        for (int high = Cards.RANKS - 1; high >= 0; high--) {
+            for (int low = high - 1; low >= 0; low--) {
+                String name = "" + Cards.rankChar(high) + Cards.rankChar(low);
+                long[] suited = classWords(high, low, Suits.SUITED);
+                long[] offsuit = classWords(high, low, Suits.OFFSUIT);
+                if (covers(suited) && covers(offsuit)) {
+                    joiner.add(name);
+                } else {
+                    appendClass(joiner, name + "s", suited);
+                    appendClass(joiner, name + "o", offsuit);
+                }
+            }
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HandRange other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Helper method to check whether the range holds every combo of a class
+     * @param mask the bitset of the class
+     * @return true if every combo of the class is in the range
+     */
+    private boolean covers(long[] mask) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & mask[i]) != mask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method to write a hand class, whole or as the combos the range holds
+     * @param joiner the parts of the notation
+     * @param name the name of the class
+     * @param mask the bitset of the class
+     */
+    private void appendClass(StringJoiner joiner, String name, long[] mask) {
+        if (covers(mask)) {
+            joiner.add(name);
+            return;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i] & mask[i]; word != 0; word &= word - 1) {
+                long cards = COMBO_CARDS[i << 6 | Long.numberOfTrailingZeros(word)];
+                int low = Long.numberOfTrailingZeros(cards);
+                int high = 63 - Long.numberOfLeadingZeros(cards);
+                // Write the higher rank first, as in AhKd
+                if (Cards.rank(low) > Cards.rank(high)) {
+                    joiner.add(cardName(low) + cardName(high));
+                } else {
+                    joiner.add(cardName(high) + cardName(low));
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the name of a card as written in range notation
+     * @param code the code of the card
+     * @return the name of the card such as "Th"
+     */
+    private static String cardName(int code) {
+        return "" + Cards.rankChar(Cards.rank(code)) + Cards.suitChar(Cards.suit(code));
+    }
+
+    /**
+     * Helper method to get the index of a combo from its card codes
+     * @param low the lower card code
+     * @param high the higher card code
+     * @return the index of the combo
+     */
+    private static int index(int low, int high) {
+        return high * (high - 1) / 2 + low;
+    }
+
+    /**
+     * Helper method to add one part of the notation to a bitset
+     * @param token the part, such as "QQ+" or "T9s-65s"
+     * @param words the bitset to add to
+     * @throws IllegalArgumentException if the part is not valid
+     */
+    private static void parsePart(String token, long[] words) {
+        int dash = token.indexOf('-');
+        if (dash >= 0) {
+            HandClass from = HandClass.parse(token.substring(0, dash), token);
+            HandClass to = HandClass.parse(token.substring(dash + 1), token);
+            if (from.plus || to.plus || from.suits != to.suits) {
+                throw new IllegalArgumentException("Invalid range: " + token);
+            }
+            if (from.high - from.low == to.high - to.low) {
+                // A fixed gap, such as T9s-65s or 22-55
+                int top = Math.max(from.high, to.high);
+                int bottom = Math.min(from.high, to.high);
+                for (int high = bottom; high <= top; high++) {
+                    add(high, high - (from.high - from.low), from.suits, words);
+                }
+            } else if (from.high == to.high) {
+                // A fixed top card, such as A2s-A5s
+                for (int low = Math.min(from.low, to.low); low <= Math.max(from.low, to.low); low++) {
+                    add(from.high, low, from.suits, words);
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid range: " + token);
+            }
+            return;
+        }
+        if (token.length() == 4 && Cards.suitIndex(token.charAt(1)) >= 0) {
+            long first = 1L << Cards.parse(token.substring(0, 2));
+            long second = 1L << Cards.parse(token.substring(2));
+            if (first == second) {
+                throw new IllegalArgumentException("Invalid range: " + token);
+            }
+            int index = index(first | second);
+            words[index >>> 6] |= 1L << index;
+            return;
+        }
+        HandClass hand = HandClass.parse(token, token);
+        if (!hand.plus) {
+            add(hand.high, hand.low, hand.suits, words);
+        } else if (hand.high == hand.low) {
+            for (int rank = hand.low; rank < Cards.RANKS; rank++) {
+                add(rank, rank, hand.suits, words);
+            }
+        } else {
+            for (int low = hand.low; low < hand.high; low++) {
+                add(hand.high, low, hand.suits, words);
+            }
+        }
+    }
+
+    /**
+     * Helper method to add every combo of a hand class to a bitset
+     * @param high the higher rank
+     * @param low the lower rank
+     * @param suits which suit combinations to add
+     * @param words the bitset to add to
+     */
+    private static void add(int high, int low, Suits suits, long[] words) {
+        long[] mask = classWords(high, low, suits);
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= mask[i];
+        }
+    }
+
+    /**
+     * Helper method to get the bitset of a hand class
+     * @param high the higher rank
+     * @param low the lower rank
+     * @param suits which suit combinations to take
+     * @return the bitset of the combos of the class
+     */
+    private static long[] classWords(int high, int low, Suits suits) {
+        long[] mask = new long[WORDS];
+        for (int s1 = 0; s1 < Cards.SUITS; s1++) {
+            for (int s2 = 0; s2 < Cards.SUITS; s2++) {
+                boolean take = switch (suits) {
+                    case PAIR -> s1 < s2;
+                    case SUITED -> s1 == s2;
+                    case OFFSUIT -> s1 != s2;
+                    case ANY -> true;
+                };
+                if (take) {
+                    int index = index(1L << Cards.code(high, s1) | 1L << Cards.code(low, s2));
+                    mask[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Private enum of the suit combinations of a hand class
+     */
+    private enum Suits {
+
+        /** The six combos of a pair */
+        PAIR,
+
+        /** The four suited combos */
+        SUITED,
+
+        /** The twelve offsuit combos */
+        OFFSUIT,
+
+        /** All sixteen combos of two different ranks */
+        ANY
+    }
+
+    /**
+     * Private record of a hand class as written in range notation, such as "ATs+"
+     * @param high the higher rank
+     * @param low the lower rank
+     * @param suits which suit combinations it holds
+     * @param plus whether it ends with a plus
+     */
+    private record HandClass(int high, int low, Suits suits, boolean plus) {
+
+        /**
+         * Method to parse a hand class
+         * @param text the text of the class
+         * @param token the whole part of the notation, for the error message
+         * @return the hand class
+         * @throws IllegalArgumentException if the class is not valid
+         */
+        static HandClass parse(String text, String token) {
+            boolean plus = text.endsWith("+");
+            String body = plus ? text.substring(0, text.length() - 1) : text;
+            if (body.length() < 2 || body.length() > 3) {
+                throw new IllegalArgumentException("Invalid range: " + token);
+            }
+            int first = Cards.rankIndex(body.charAt(0));
+            int second = Cards.rankIndex(body.charAt(1));
+            if (first < 0 || second < 0) {
+                throw new IllegalArgumentException("Invalid range: " + token);
+            }
+            Suits suits;
+            if (first == second) {
+                suits = Suits.PAIR;
+                if (body.length() == 3) {
+                    throw new IllegalArgumentException("Invalid range: " + token);
+                }
+            } else if (body.length() == 2) {
+                suits = Suits.ANY;
+            } else {
+                suits = switch (Character.toLowerCase(body.charAt(2))) {
+                    case 's' -> Suits.SUITED;
+                    case 'o' -> Suits.OFFSUIT;
+                    default -> throw new IllegalArgumentException("Invalid range: " + token);
+                };
+            }
+            return new HandClass(Math.max(first, second), Math.min(first, second), suits, plus);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.example.poker_api.range;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.example.poker_api.RequestLimitException;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to work out the equity of one range against another on a board
+ * Every combo of either range is evaluated once per runout into a
+ * primitive array. The strengths of each side are then sorted, along
+ * with the strengths of the combos holding each card, so how many
+ * opposing combos a combo beats or ties comes from a few binary searches:
+ * the count against the whole range, less the combos that share one of
+ * its two cards, plus the combo itself if it was taken away twice.
+ * No matchup is evaluated on its own
+ *
+ * Every runout is dealt when there are few enough of them, from the flop
+ * on, and otherwise a sample of random runouts. The runouts are split
+ * into chunks that run in parallel and their counts are added up
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class RangeEquity {
+
+    /** The most runouts that are all dealt instead of sampled */
+    public static final int MAX_EXHAUSTIVE_RUNOUTS = 2_000;
+
+    /** The most combo evaluations a request may ask for, runouts times the live combos of both sides */
+    public static final long MAX_EVALUATIONS = 10_000_000;
+
+    /** The number of chunks per processor the runouts are split into */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** The set of cards already on the board */
+    private final long board;
+
+    /** The indexes of the live combos of each side */
+    private final int[][] sides = new int[2][];
+
+    /** The runouts that were dealt */
+    private final long[] runouts;
+
+    /** Whether every runout was dealt */
+    private final boolean exhaustive;
+
+    /** The matchups each combo won, by side and combo index */
+    private final long[][] wins = new long[2][HandRange.COMBOS];
+
+    /** The matchups each combo tied, by side and combo index */
+    private final long[][] ties = new long[2][HandRange.COMBOS];
+
+    /** The matchups each combo played, by side and combo index */
+    private final long[][] matchups = new long[2][HandRange.COMBOS];
+
+    /**
+     * Constructs and runs the equity of two ranges on a board
+     * @param board the set of cards already on the board
+     * @param hero the first range
+     * @param villain the second range
+     * @param samples the number of random runouts to deal when there are too many to deal them all
+     * @param random the source of the random runouts
+     * @throws IllegalArgumentException if the board has more than five cards
+     * or either range has no combos left on the board
+     * @throws RequestLimitException if the runouts would take more than
+     * MAX_EVALUATIONS combo evaluations
+     */
+    public RangeEquity(long board, HandRange hero, HandRange villain, int samples, SplittableRandom random) {
+        int toDeal = 5 - Long.bitCount(board);
+        if (toDeal < 0) {
+            throw new IllegalArgumentException("A board holds at most 5 cards");
+        }
+        this.board = board;
+        sides[0] = hero.without(board).indexes();
+        sides[1] = villain.without(board).indexes();
+        if (sides[0].length == 0 || sides[1].length == 0) {
+            throw new IllegalArgumentException("Each range needs a combo the board does not block");
+        }
+
+        int[] unseen = new int[Cards.DECK_SIZE - Long.bitCount(board)];
+        long rest = Cards.DECK & ~board;
+        for (int i = 0; rest != 0; i++, rest &= rest - 1) {
+            unseen[i] = Long.numberOfTrailingZeros(rest);
+        }
+        long total = binomial(unseen.length, toDeal);
+        exhaustive = total <= MAX_EXHAUSTIVE_RUNOUTS;
+        long evaluations = (exhaustive ? total : samples) * (sides[0].length + sides[1].length);
+        if (evaluations > MAX_EVALUATIONS) {
+            throw new RequestLimitException("The runouts would take " + evaluations + " evaluations, at most "
+                    + MAX_EVALUATIONS + " are allowed: ask for fewer runouts or narrower ranges");
+        }
+        runouts = exhaustive ? allRunouts(unseen, toDeal, (int) total) : randomRunouts(unseen, toDeal, samples, random);
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunks = Math.max(1, Math.min(runouts.length, threads * CHUNKS_PER_THREAD));
+        IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> runChunk(
+                        (int) ((long) runouts.length * chunk / chunks),
+                        (int) ((long) runouts.length * (chunk + 1) / chunks)))
+                .forEach(this::add);
+    }
+
+    /**
+     * Method to get the number of runouts dealt
+     * @return the number of runouts
+     */
+    public int getRunouts() {
+        return runouts.length;
+    }
+
+    /**
+     * Method to check whether every runout was dealt
+     * @return true if the equities are exact
+     */
+    public boolean isExhaustive() {
+        return exhaustive;
+    }
+
+    /**
+     * Method to get the indexes of the combos of a side the board does not block
+     * @param side 0 for the first range, 1 for the second
+     * @return the combo indexes
+     */
+    public int[] getCombos(int side) {
+        return sides[side].clone();
+    }
+
+    /**
+     * Method to get the number of matchups a combo or a whole side won
+     * @param side 0 for the first range, 1 for the second
+     * @param combo the index of the combo, or -1 for the whole side
+     * @return the number of matchups won
+     */
+    public long getWins(int side, int combo) {
+        return combo < 0 ? sum(wins[side]) : wins[side][combo];
+    }
+
+    /**
+     * Method to get the number of matchups a combo or a whole side tied
+     * @param side 0 for the first range, 1 for the second
+     * @param combo the index of the combo, or -1 for the whole side
+     * @return the number of matchups tied
+     */
+    public long getTies(int side, int combo) {
+        return combo < 0 ? sum(ties[side]) : ties[side][combo];
+    }
+
+    /**
+     * Method to get the number of matchups a combo or a whole side played
+     * A matchup is a pair of combos that share no card and a runout that
+     * shares no card with either, so both sides play the same matchups
+     * @param side 0 for the first range, 1 for the second
+     * @param combo the index of the combo, or -1 for the whole side
+     * @return the number of matchups
+     */
+    public long getMatchups(int side, int combo) {
+        return combo < 0 ? sum(matchups[side]) : matchups[side][combo];
+    }
+
+    /**
+     * Method to get the equity of a combo or a whole side
+     * @param side 0 for the first range, 1 for the second
+     * @param combo the index of the combo, or -1 for the whole side
+     * @return the share of the pot won on average, from 0 to 1
+     */
+    public double getEquity(int side, int combo) {
+        long played = getMatchups(side, combo);
+        return played == 0 ? 0 : (getWins(side, combo) + getTies(side, combo) / 2.0) / played;
+    }
+
+    /**
+     * Helper method to count the matchups of a chunk of runouts
+     * @param from the index of the first runout
+     * @param to the index after the last runout
+     * @return the counts of the chunk, by kind, side and combo index
+     */
+    private long[][][] runChunk(int from, int to) {
+        long[][][] counts = new long[3][2][HandRange.COMBOS];
+        int[] strengths = new int[HandRange.COMBOS];
+        int[][] live = { new int[sides[0].length], new int[sides[1].length] };
+        int[] liveCount = new int[2];
+        int[][] sorted = { new int[sides[0].length], new int[sides[1].length] };
+        int[][] byCard = new int[Cards.DECK_SIZE][Cards.DECK_SIZE - 1];
+        int[] byCardCount = new int[Cards.DECK_SIZE];
+        boolean[] inOther = new boolean[HandRange.COMBOS];
+
+        for (int r = from; r < to; r++) {
+            long fullBoard = board | runouts[r];
+            // Evaluate every live combo of both sides once
+            for (int side = 0; side < 2; side++) {
+                int n = 0;
+                for (int combo : sides[side]) {
+                    long cards = HandRange.cards(combo);
+                    if ((cards & fullBoard) == 0) {
+                        strengths[combo] = BitmaskEvaluator.evaluate(fullBoard | cards);
+                        live[side][n++] = combo;
+                    }
+                }
+                liveCount[side] = n;
+            }
+            for (int side = 0; side < 2; side++) {
+                int other = 1 - side;
+                prepare(live[other], liveCount[other], strengths, sorted[other], byCard, byCardCount, inOther, true);
+                countSide(live[side], liveCount[side], strengths, sorted[other], liveCount[other],
+                        byCard, byCardCount, inOther, counts, side);
+                prepare(live[other], liveCount[other], strengths, sorted[other], byCard, byCardCount, inOther, false);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Helper method to sort the strengths of one side, overall and by card
+     * Called again with fill false to clear the scratch arrays afterwards
+     * @param live the live combos of the side
+     * @param n the number of live combos
+     * @param strengths the strength of each combo on the runout
+     * @param sorted the strengths of the side, sorted
+     * @param byCard the strengths of the combos holding each card, sorted
+     * @param byCardCount the number of combos holding each card
+     * @param inSide whether each combo is live on the side
+     * @param fill true to fill the arrays, false to clear them
+     */
+    private static void prepare(int[] live, int n, int[] strengths, int[] sorted,
+            int[][] byCard, int[] byCardCount, boolean[] inSide, boolean fill) {
+        if (!fill) {
+            for (int i = 0; i < n; i++) {
+                long cards = HandRange.cards(live[i]);
+                byCardCount[Long.numberOfTrailingZeros(cards)] = 0;
+                byCardCount[63 - Long.numberOfLeadingZeros(cards)] = 0;
+                inSide[live[i]] = false;
+            }
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            int combo = live[i];
+            int strength = strengths[combo];
+            long cards = HandRange.cards(combo);
+            int low = Long.numberOfTrailingZeros(cards);
+            int high = 63 - Long.numberOfLeadingZeros(cards);
+            sorted[i] = strength;
+            byCard[low][byCardCount[low]++] = strength;
+            byCard[high][byCardCount[high]++] = strength;
+            inSide[combo] = true;
+        }
+        Arrays.sort(sorted, 0, n);
+        for (int card = 0; card < Cards.DECK_SIZE; card++) {
+            if (byCardCount[card] > 1) {
+                Arrays.sort(byCard[card], 0, byCardCount[card]);
+            }
+        }
+    }
+
+    /**
+     * Helper method to count the matchups of each live combo of a side against the other side
+     * @param live the live combos of the side
+     * @param n the number of live combos
+     * @param strengths the strength of each combo on the runout
+     * @param sorted the sorted strengths of the other side
+     * @param otherCount the number of live combos of the other side
+     * @param byCard the sorted strengths of the other side's combos holding each card
+     * @param byCardCount the number of the other side's combos holding each card
+     * @param inOther whether each combo is live on the other side
+     * @param counts the wins, ties and matchups to add to
+     * @param side the index of the side
+     */
+    private static void countSide(int[] live, int n, int[] strengths, int[] sorted, int otherCount,
+            int[][] byCard, int[] byCardCount, boolean[] inOther, long[][][] counts, int side) {
+        for (int i = 0; i < n; i++) {
+            int combo = live[i];
+            int strength = strengths[combo];
+            long cards = HandRange.cards(combo);
+            int low = Long.numberOfTrailingZeros(cards);
+            int high = 63 - Long.numberOfLeadingZeros(cards);
+            // The same combo on the other side holds both cards, so it was taken away twice
+            int self = inOther[combo] ? 1 : 0;
+
+            int below = lowerBound(sorted, otherCount, strength)
+                    - lowerBound(byCard[low], byCardCount[low], strength)
+                    - lowerBound(byCard[high], byCardCount[high], strength);
+            int notAbove = upperBound(sorted, otherCount, strength)
+                    - upperBound(byCard[low], byCardCount[low], strength)
+                    - upperBound(byCard[high], byCardCount[high], strength) + self;
+            int played = otherCount - byCardCount[low] - byCardCount[high] + self;
+
+            counts[0][side][combo] += below;
+            counts[1][side][combo] += notAbove - below;
+            counts[2][side][combo] += played;
+        }
+    }
+
+    /**
+     * Helper method to add the counts of a chunk
+     * @param counts the wins, ties and matchups of the chunk
+     */
+    private synchronized void add(long[][][] counts) {
+        for (int side = 0; side < 2; side++) {
+            for (int combo : sides[side]) {
+                wins[side][combo] += counts[0][side][combo];
+                ties[side][combo] += counts[1][side][combo];
+                matchups[side][combo] += counts[2][side][combo];
+            }
+        }
+    }
+
+    /**
+     * Helper method to find how many of the sorted values are below a value
+     * @param values the sorted values
+     * @param n the number of values
+     * @param value the value to compare with
+     * @return the number of values below it
+     */
+    private static int lowerBound(int[] values, int n, int value) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Helper method to find how many of the sorted values are at most a value
+     * @param values the sorted values
+     * @param n the number of values
+     * @param value the value to compare with
+     * @return the number of values at most it
+     */
+    private static int upperBound(int[] values, int n, int value) {
+        return lowerBound(values, n, value + 1);
+    }
+
+    /**
+     * Helper method to deal every runout
+     * @param unseen the cards that can be dealt
+     * @param toDeal the number of cards in a runout
+     * @param total the number of runouts
+     * @return every set of toDeal unseen cards
+     */
+    private static long[] allRunouts(int[] unseen, int toDeal, int total) {
+        long[] result = new long[total];
+        int[] positions = new int[toDeal];
+        for (int k = 0; k < toDeal; k++) {
+            positions[k] = k;
+        }
+        for (int r = 0; r < total; r++) {
+            for (int k = 0; k < toDeal; k++) {
+                result[r] |= 1L << unseen[positions[k]];
+            }
+            // Step to the next set, bumping the highest position that has room
+            int k = toDeal - 1;
+            while (k >= 0 && positions[k] == unseen.length - toDeal + k) {
+                k--;
+            }
+            if (k >= 0) {
+                positions[k]++;
+                for (int j = k + 1; j < toDeal; j++) {
+                    positions[j] = positions[j - 1] + 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to deal random runouts
+     * @param unseen the cards that can be dealt
+     * @param toDeal the number of cards in a runout
+     * @param samples the number of runouts
+     * @param random the source of randomness
+     * @return the random runouts
+     */
+    private static long[] randomRunouts(int[] unseen, int toDeal, int samples, SplittableRandom random) {
+        long[] result = new long[samples];
+        int[] deck = unseen.clone();
+        for (int r = 0; r < samples; r++) {
+            for (int k = 0; k < toDeal; k++) {
+                int j = k + random.nextInt(deck.length - k);
+                int card = deck[j];
+                deck[j] = deck[k];
+                deck[k] = card;
+                result[r] |= 1L << card;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to get the number of ways to choose k of n items
+     * @param n the number of items
+     * @param k the number to choose
+     * @return the binomial coefficient
+     */
+    private static long binomial(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to add up an array
+     * @param values the values
+     * @return the sum
+     */
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.poker_api.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.example.poker_api.cli.Options;
+import com.example.poker_api.eval.EvaluatorType;
+import com.example.poker_api.eval.HandEvaluator;
+import com.example.poker_api.protocol.BinaryHands;
+
+/**
+ * Lightweight evaluation server that skips the Spring MVC stack
+ * Clients send hands in the binary protocol of BinaryHands over a plain
+ * TCP connection and get back one 4 byte strength per hand, in order.
+ * A client can pipeline as many hands as it likes without waiting for
+ * the results; -1 is returned for a hand that is not valid
+ *
+ * Connections are spread over a number of event loops, each running a
+ * non-blocking selector on its own thread with a fixed pair of buffers
+ * per connection. A connection stops being read while its results are
+ * waiting to be written, so slow readers cannot make the server buffer
+ * without bound
+ *
+ * The server only listens on the loopback address unless a wider host is
+ * given, since the connections are not authenticated
+ *
+ * Started with: --mode=nio [--host=127.0.0.1] [--port=9090] [--threads=N] [--engine=bitmask]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class EvaluationServer implements AutoCloseable {
+
+    /** The address the server listens on by default, the loopback address */
+    public static final String DEFAULT_HOST = "127.0.0.1";
+
+    /** The port the server listens on by default */
+    public static final int DEFAULT_PORT = 9090;
+
+    /** The result sent back for a hand that is not valid */
+    public static final int INVALID_HAND = -1;
+
+    /** The size of the read and write buffers of each connection */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The channel accepting new connections */
+    private final ServerSocketChannel server;
+
+    /** The engine the hands are evaluated with */
+    private final HandEvaluator evaluator;
+
+    /** The event loops the connections are spread over */
+    private final EventLoop[] loops;
+
+    /**
+     * Constructs the server and binds it to a port
+     * @param host the address to listen on, such as 127.0.0.1 or 0.0.0.0 for every interface
+     * @param port the port to listen on, 0 for any free port
+     * @param threads the number of event loops
+     * @param evaluator the engine the hands are evaluated with
+     * @throws IOException if the port could not be bound
+     */
+    public EvaluationServer(String host, int port, int threads, HandEvaluator evaluator) throws IOException {
+        this.evaluator = evaluator;
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(host, port), 1024);
+        loops = new EventLoop[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = new EventLoop();
+            Thread.ofPlatform().name("nio-loop-" + i).daemon(true).start(loops[i]);
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped
+     * @param args the options of the server
+     * @throws IOException if the server could not be started
+     */
+    public static void run(String[] args) throws IOException {
+        Options options = new Options(args);
+        HandEvaluator evaluator = EvaluatorType.fromName(options.get("engine", "bitmask")).create();
+        String host = options.get("host", DEFAULT_HOST);
+        try (EvaluationServer server = new EvaluationServer(host, options.getInt("port", DEFAULT_PORT),
+                options.threads(), evaluator)) {
+            System.out.println("Evaluation server listening on " + host + " port " + server.getPort());
+            server.acceptForever();
+        }
+    }
+
+    /**
+     * Method to get the port the server is listening on
+     * @return the port the server is listening on
+     * @throws IOException if the port could not be read
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Accepts connections and hands them to the event loops in turn
+     * Returns once the server is closed
+     */
+    public void acceptForever() {
+        int next = 0;
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (IOException e) {
+                if (server.isOpen()) {
+                    System.err.println("Could not accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the server and all of its connections
+     * @throws IOException if the server could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (EventLoop loop : loops) {
+            loop.close();
+        }
+    }
+
+    /**
+     * Method to evaluate every whole hand in the input buffer
+     * Stops early if the output buffer has no room for another result
+     * @param in the input buffer, ready to be read
+     * @param out the output buffer, ready to be written
+     */
+    void evaluate(ByteBuffer in, ByteBuffer out) {
+        while (out.remaining() >= BinaryHands.RESULT_BYTES && BinaryHands.hasHand(in)) {
+            int start = in.position();
+            int length = in.get(start) & 0xFF;
+            int result;
+            try {
+                result = evaluator.evaluate(BinaryHands.readHand(in));
+            } catch (IllegalArgumentException e) {
+                result = INVALID_HAND;
+            }
+            in.position(start + 1 + length);
+            out.putInt(result);
+        }
+    }
+
+    /**
+     * Private inner class to represent one event loop
+     * Owns a selector and every connection registered with it
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    private class EventLoop implements Runnable {
+
+        /** The selector of the connections */
+        private final Selector selector;
+
+        /** The connections waiting to be registered with the selector */
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Constructs an event loop with a new selector
+         * @throws IOException if the selector could not be opened
+         */
+        public EventLoop() throws IOException {
+            selector = Selector.open();
+        }
+
+        /**
+         * Hands a new connection to the event loop
+         * @param channel the connection to register
+         */
+        public void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        /**
+         * Closes the selector and every connection of the event loop
+         * @throws IOException if the selector could not be closed
+         */
+        public void close() throws IOException {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+
+        /**
+         * Runs the event loop until the selector is closed
+         */
+        @Override
+        public void run() {
+            while (selector.isOpen()) {
+                try {
+                    selector.select();
+                    registerPending();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    if (selector.isOpen()) {
+                        System.err.println("Event loop error: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Helper method to register the connections handed to the event loop
+         * @throws IOException if a connection could not be registered
+         */
+        private void registerPending() throws IOException {
+            for (SocketChannel channel = pending.poll(); channel != null; channel = pending.poll()) {
+                channel.register(selector, SelectionKey.OP_READ, new Connection());
+            }
+        }
+
+        /**
+         * Helper method to handle a ready connection
+         * Reads and evaluates what has arrived, then writes what it can
+         * @param key the key of the ready connection
+         */
+        private void handle(SelectionKey key) {
+            SocketChannel channel = (SocketChannel) key.channel();
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isReadable() && channel.read(connection.in) < 0) {
+                    channel.close();
+                    return;
+                }
+                // Keep going while the results fit, the rest waits for the next write
+                connection.in.flip();
+                boolean written;
+                do {
+                    evaluate(connection.in, connection.out);
+                    connection.out.flip();
+                    channel.write(connection.out);
+                    written = !connection.out.hasRemaining();
+                    connection.out.compact();
+                } while (written && BinaryHands.hasHand(connection.in));
+                connection.in.compact();
+
+                // Only read more once the pending results are written
+                key.interestOps(connection.out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                key.cancel();
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Already closing
+                }
+            }
+        }
+    }
+
+    /**
+     * Private inner class to represent the buffers of one connection
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    private static class Connection {
+
+        /** The bytes read from the client that are not evaluated yet */
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        /** The results that are not written to the client yet */
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+}
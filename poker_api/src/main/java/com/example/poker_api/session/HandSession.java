@@ -0,0 +1,135 @@
+package com.example.poker_api.session;
+
+import com.example.poker_api.PokerHand;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to represent the evaluated state of a hand dealt street by street
+ * Keeps the rank and suit counts of the cards along with the rank sets
+ * the evaluator works on, so each new card is folded in with a few
+ * bitwise operations instead of evaluating the whole hand again
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class HandSession {
+
+    /** The number of cards of a suit that make a flush */
+    private static final int FLUSH_CARDS = 5;
+
+    /** The id of the session */
+    private final String id;
+
+    /** The set of cards in the hand */
+    private long cards;
+
+    /** The number of cards of each rank */
+    private final int[] rankCounts = new int[Cards.RANKS];
+
+    /** The number of cards of each suit */
+    private final int[] suitCounts = new int[Cards.SUITS];
+
+    /** The rank mask of each suit */
+    private final int[] suitMasks = new int[Cards.SUITS];
+
+    /** The ranks held at least once, which is also the straight mask */
+    private int ranks;
+
+    /** The ranks held at least twice */
+    private int twoOrMore;
+
+    /** The ranks held at least three times */
+    private int threeOrMore;
+
+    /** The ranks held four times */
+    private int quads;
+
+    /** The suit holding five or more cards, or -1 */
+    private int flushSuit = -1;
+
+    /** The strength of the best hand so far */
+    private int strength;
+
+    /**
+     * Constructs an empty session
+     * @param id the id of the session
+     */
+    public HandSession(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Method to get the id of the session
+     * @return the id of the session
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the set of cards in the hand
+     * @return the set of cards in the hand
+     */
+    public synchronized long getCards() {
+        return cards;
+    }
+
+    /**
+     * Method to get the strength of the best hand so far
+     * @return the strength from BitmaskEvaluator
+     */
+    public synchronized int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Method to describe the best hand so far
+     * @return the description of the best hand
+     */
+    public synchronized String describe() {
+        return BitmaskEvaluator.describe(strength, flushSuit);
+    }
+
+    /**
+     * Adds the cards of the next street to the hand
+     * @param added the set of cards to add
+     * @return the strength of the best hand with the cards added
+     * @throws IllegalArgumentException if a card is already in the hand
+     * or the hand would hold more than seven cards
+     */
+    public synchronized int add(long added) {
+        if ((cards & added) != 0) {
+            throw new IllegalArgumentException("Duplicate card: " + Cards.toString(Long.numberOfTrailingZeros(cards & added)));
+        }
+        if (Long.bitCount(cards | added) > PokerHand.MAX_CARDS) {
+            throw new IllegalArgumentException("A poker hand holds 1 to " + PokerHand.MAX_CARDS + " cards");
+        }
+        for (long rest = added; rest != 0; rest &= rest - 1) {
+            addCard(Long.numberOfTrailingZeros(rest));
+        }
+        cards |= added;
+        strength = BitmaskEvaluator.evaluate(ranks, twoOrMore, threeOrMore, quads,
+                flushSuit < 0 ? 0 : suitMasks[flushSuit]);
+        return strength;
+    }
+
+    /**
+     * Helper method to fold one card into the counts and rank sets
+     * @param code the code of the card
+     */
+    private void addCard(int code) {
+        int rank = Cards.rank(code);
+        int suit = Cards.suit(code);
+        int bit = 1 << rank;
+        switch (++rankCounts[rank]) {
+            case 1 -> ranks |= bit;
+            case 2 -> twoOrMore |= bit;
+            case 3 -> threeOrMore |= bit;
+            default -> quads |= bit;
+        }
+        suitMasks[suit] |= bit;
+        if (++suitCounts[suit] == FLUSH_CARDS) {
+            flushSuit = suit;
+        }
+    }
+}
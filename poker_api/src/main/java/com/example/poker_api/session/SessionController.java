@@ -0,0 +1,136 @@
+package com.example.poker_api.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.poker_api.PokerHand;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.metrics.PokerMetrics;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Controller class for hand sessions
+ * A session is opened with the first cards of a hand, such as the hole
+ * cards and the flop, and each later street only sends its new cards.
+ * The session keeps the evaluated state, so each street only costs the
+ * cards that were added
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@RestController
+@RequestMapping("/api/poker/sessions")
+public class SessionController {
+
+    /** The endpoint name the session requests are recorded under */
+    private static final String ENDPOINT = "sessions";
+
+    /** The open sessions */
+    private final SessionStore store;
+
+    /** Records the latency, categories and failures of the requests */
+    private final PokerMetrics metrics;
+
+    /**
+     * Constructs the controller with its store and metrics
+     * @param store the open sessions
+     * @param metrics the metrics we are recording to
+     */
+    public SessionController(SessionStore store, PokerMetrics metrics) {
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Method to open a session with the first cards of a hand
+     * @param pokerHand the first cards of the hand
+     * @return the new session with the best hand of its cards
+     */
+    @PostMapping
+    public ResponseEntity<SessionResponse> open(@RequestBody PokerHand pokerHand) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            HandSession session = store.create();
+            add(session, pokerHand);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new SessionResponse(session));
+        } finally {
+            metrics.stopRequest(sample, ENDPOINT);
+        }
+    }
+
+    /**
+     * Method to add the cards of the next street to a session
+     * @param id the id of the session
+     * @param pokerHand the new cards only
+     * @return the session with the best hand of all of its cards
+     */
+    @PostMapping("/{id}/cards")
+    public ResponseEntity<SessionResponse> addCards(@PathVariable String id, @RequestBody PokerHand pokerHand) {
+        Timer.Sample sample = metrics.startRequest();
+        try {
+            HandSession session = store.get(id);
+            if (session == null) {
+                return ResponseEntity.notFound().build();
+            }
+            add(session, pokerHand);
+            return ResponseEntity.ok(new SessionResponse(session));
+        } finally {
+            metrics.stopRequest(sample, ENDPOINT);
+        }
+    }
+
+    /**
+     * Method to get the current state of a session
+     * @param id the id of the session
+     * @return the session with the best hand of its cards
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SessionResponse> getSession(@PathVariable String id) {
+        HandSession session = store.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(new SessionResponse(session));
+    }
+
+    /**
+     * Method to close a session
+     * @param id the id of the session
+     * @return no content, or not found if the session was not open
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> close(@PathVariable String id) {
+        return store.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Helper method to add cards to a session and record the evaluation
+     * @param session the session we are adding to
+     * @param pokerHand the cards to add
+     */
+    private void add(HandSession session, PokerHand pokerHand) {
+        metrics.recordCards(ENDPOINT, pokerHand.size());
+        metrics.recordEvaluation(BitmaskEvaluator.category(session.add(pokerHand.getCardMask())));
+    }
+
+    /**
+     * Method to handle a request body that could not be read
+     * @param e the exception thrown while reading the body
+     * @return a bad request response
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(HttpMessageNotReadableException e) {
+        metrics.recordParseFailure(ENDPOINT, "body");
+        return ResponseEntity.badRequest().body("Request body could not be read");
+    }
+
+    /**
+     * Method to handle cards that could not be added
+     * @param e the exception thrown while adding the cards
+     * @return a bad request response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidCards(IllegalArgumentException e) {
+        metrics.recordParseFailure(ENDPOINT, "cards");
+        return ResponseEntity.badRequest().body("Invalid cards: " + e.getMessage());
+    }
+}
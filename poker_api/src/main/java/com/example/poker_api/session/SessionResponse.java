@@ -0,0 +1,61 @@
+package com.example.poker_api.session;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to represent the server response for a hand session
+ * Holds the cards dealt so far and the best hand they make
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class SessionResponse {
+
+    /** The id of the session */
+    private final String id;
+
+    /** The cards dealt so far */
+    private final String[] cards;
+
+    /** The best hand of the cards dealt so far */
+    private final String bestHand;
+
+    /**
+     * Constructs the response from the current state of a session
+     * @param session the session we are responding with
+     */
+    public SessionResponse(HandSession session) {
+        synchronized (session) {
+            this.id = session.getId();
+            long dealt = session.getCards();
+            this.cards = new String[Long.bitCount(dealt)];
+            for (int i = 0; dealt != 0; i++, dealt &= dealt - 1) {
+                cards[i] = Cards.toString(Long.numberOfTrailingZeros(dealt));
+            }
+            this.bestHand = session.describe();
+        }
+    }
+
+    /**
+     * Method to get the id of the session
+     * @return the id of the session
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Method to get the cards dealt so far
+     * @return the cards dealt so far
+     */
+    public String[] getCards() {
+        return cards;
+    }
+
+    /**
+     * Method to get the best hand of the cards dealt so far
+     * @return the best hand
+     */
+    public String getBestHand() {
+        return bestHand;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.poker_api.session;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class to hold the open hand sessions
+ * The store is bounded: once it is full, opening a session drops the
+ * one that was used least recently. Sessions that have not been used
+ * for the time to live are dropped as the store is used, so there is
+ * no background thread to manage
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@Component
+public class SessionStore {
+
+    /** The sessions by id, from least to most recently used */
+    private final LinkedHashMap<String, Entry> sessions;
+
+    /** The time to live of an unused session, in nanoseconds */
+    private final long ttlNanos;
+
+    /**
+     * Constructs the session store
+     * @param maxSize the largest number of sessions held at once
+     * @param ttl how long a session is kept after it was last used
+     */
+    public SessionStore(@Value("${poker.sessions.max-size:100000}") int maxSize,
+            @Value("${poker.sessions.ttl:10m}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Opens a new empty session
+     * @return the new session
+     */
+    public synchronized HandSession create() {
+        long now = System.nanoTime();
+        expire(now);
+        HandSession session = new HandSession(UUID.randomUUID().toString());
+        sessions.put(session.getId(), new Entry(session, now));
+        return session;
+    }
+
+    /**
+     * Method to get an open session and mark it as used
+     * @param id the id of the session
+     * @return the session, or null if there is no such session or it has expired
+     */
+    public synchronized HandSession get(String id) {
+        long now = System.nanoTime();
+        expire(now);
+        Entry entry = sessions.get(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastUsed = now;
+        return entry.session;
+    }
+
+    /**
+     * Closes a session
+     * @param id the id of the session
+     * @return if the session was open
+     */
+    public synchronized boolean remove(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    /**
+     * Method to get the number of open sessions
+     * @return the number of open sessions, expired ones included until they are dropped
+     */
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Helper method to drop the sessions that have expired
+     * The least recently used sessions come first, so this stops at the
+     * first session that is still live
+     * @param now the current time in nanoseconds
+     */
+    private void expire(long now) {
+        Iterator<Entry> entries = sessions.values().iterator();
+        while (entries.hasNext() && now - entries.next().lastUsed > ttlNanos) {
+            entries.remove();
+        }
+    }
+
+    /**
+     * Private inner class to hold a session with the time it was last used
+     *
+     * @author Tristan Curtis (tmc3221)
+     */
+    private static class Entry {
+
+        /** The session */
+        private final HandSession session;
+
+        /** The time the session was last used, in nanoseconds */
+        private long lastUsed;
+
+        /**
+         * Constructs an entry for a session
+         * @param session the session
+         * @param lastUsed the time the session was last used
+         */
+        public Entry(HandSession session, long lastUsed) {
+            this.session = session;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.poker_api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.HandEvaluator;
+import com.example.poker_api.metrics.PokerMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive controller class for the Poker API
+ * Serves bestHand, batch, outs and showdown as PokerController does,
+ * on the non-blocking stack and with the same evaluator, plus stream.
+ * The nuts, flop, equity, equity job, range equity and preflop equity
+ * endpoints are only served by PokerController
+ * Batches are evaluated as the hands are decoded, and the stream
+ * endpoint reads and writes newline delimited JSON so a client can
+ * send an unbounded number of hands with backpressure
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+@RestController
+@RequestMapping("/api/poker")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactivePokerController {
+
+    /** The number of hands requested from the client at a time when streaming */
+    private static final int STREAM_PREFETCH = 256;
+
+    /** Records the latency, categories and failures of the requests */
+    private final PokerMetrics metrics;
+
+    /** Evaluates the hands of the best hand endpoints */
+    private final HandEvaluator evaluator;
+
+    /**
+     * Constructs the controller with the metrics to record to
+     * @param metrics the metrics we are recording to
+     * @param evaluator evaluates the hands of the best hand endpoints
+     */
+    public ReactivePokerController(PokerMetrics metrics, HandEvaluator evaluator) {
+        this.metrics = metrics;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Method to get the best hand from a list of cards
+     * @param pokerHand the hand of cards we are using to calculate
+     * the best hand from
+     * @return the best hand from the list of cards
+     */
+    @PostMapping("/bestHand")
+    public Mono<BestHandResponse> getBestHand(@RequestBody Mono<PokerHand> pokerHand) {
+        return timed("bestHand", pokerHand.map(hand -> evaluate("bestHand", hand)).flux()).next();
+    }
+
+    /**
+     * Method to get the best hand of every poker hand in a batch
+     * The hands are evaluated one by one as they are decoded from the array
+     * @param pokerHands the hands we are calculating the best hands of
+     * @return the best hands in the same order as the poker hands
+     */
+    @PostMapping("/batch")
+    public Flux<BestHandResponse> getBestHands(@RequestBody Flux<PokerHand> pokerHands) {
+        return timed("batch", pokerHands.map(hand -> evaluate("batch", hand)));
+    }
+
+    /**
+     * Method to get the outs of a hand on the next street
+     * @param pokerHand the cards dealt so far, six at most
+     * @return the number of unseen cards that improve the hand to each category
+     */
+    @PostMapping("/outs")
+    public Mono<OutsResponse> getOuts(@RequestBody Mono<PokerHand> pokerHand) {
+        return timed("outs", pokerHand.map(this::outs).flux()).next();
+    }
+
+    /**
+     * Method to rank the players of a showdown on a shared board
+     * @param showdown the board and the hole cards of each player
+     * @return the strength of each player and the players that win the pot
+     */
+    @PostMapping("/showdown")
+    public Mono<ShowdownResponse> getShowdown(@RequestBody Mono<ShowdownRequest> showdown) {
+        return timed("showdown", showdown.map(request -> new ShowdownResponse(request.boardMask(),
+                request.holeCardMasks(), evaluator)).flux()).next();
+    }
+
+    /**
+     * Method to stream the best hands of newline delimited poker hands
+     * Only requests more hands from the client once the previous
+     * ones have been written back
+     * @param pokerHands the stream of hands we are calculating the best hands of
+     * @return the stream of best hands in the same order as the poker hands
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BestHandResponse> streamBestHands(@RequestBody Flux<PokerHand> pokerHands) {
+        return timed("stream", pokerHands.limitRate(STREAM_PREFETCH).map(hand -> evaluate("stream", hand)));
+    }
+
+    /**
+     * Method to handle a request body that could not be read
+     * Counts the failure against the endpoint that was called
+     * @param e the exception thrown while reading the body
+     * @param exchange the exchange of the failed request
+     * @return a bad request response
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<String> handleUnreadableBody(ServerWebInputException e, ServerWebExchange exchange) {
+        metrics.recordParseFailure(endpoint(exchange), "body");
+        return ResponseEntity.badRequest().body("Request body could not be read");
+    }
+
+    /**
+     * Method to handle cards that could not be parsed
+     * Counts the failure against the endpoint that was called
+     * @param e the exception thrown while parsing the cards
+     * @param exchange the exchange of the failed request
+     * @return a bad request response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidCards(IllegalArgumentException e, ServerWebExchange exchange) {
+        metrics.recordParseFailure(endpoint(exchange), "cards");
+        return ResponseEntity.badRequest().body("Invalid cards: " + e.getMessage());
+    }
+
+    /**
+     * Helper method to calculate and record the best hand of a poker hand
+     * @param endpoint the endpoint the poker hand was sent to
+     * @param pokerHand the hand we are calculating the best hand of
+     * @return the best hand of the poker hand
+     */
+    private BestHandResponse evaluate(String endpoint, PokerHand pokerHand) {
+        metrics.recordCards(endpoint, pokerHand.size());
+        long cards = pokerHand.getCardMask();
+        int strength = evaluator.evaluate(cards);
+        metrics.recordEvaluation(BitmaskEvaluator.category(strength));
+        return new BestHandResponse(cards, strength);
+    }
+
+    /**
+     * Helper method to calculate and record the outs of a poker hand
+     * @param pokerHand the cards dealt so far
+     * @return the outs of the poker hand
+     * @throws IllegalArgumentException if the hand has no cards to come
+     */
+    private OutsResponse outs(PokerHand pokerHand) {
+        if (pokerHand.size() >= PokerHand.MAX_CARDS) {
+            throw new IllegalArgumentException("No cards left to come after " + PokerHand.MAX_CARDS + " cards");
+        }
+        metrics.recordCards("outs", pokerHand.size());
+        return new OutsResponse(pokerHand.getCardMask());
+    }
+
+    /**
+     * Helper method to time a request from subscription until it completes
+     * @param <T> the type of the results
+     * @param endpoint the endpoint the request was made to
+     * @param results the results of the request
+     * @return the results that record their latency when they complete
+     */
+    private <T> Flux<T> timed(String endpoint, Flux<T> results) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = metrics.startRequest();
+            return results.doFinally(signal -> metrics.stopRequest(sample, endpoint));
+        });
+    }
+
+    /**
+     * Helper method to get the endpoint name of a request
+     * @param exchange the exchange of the request
+     * @return the last segment of the request path
+     */
+    private String endpoint(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.poker_api.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.poker_api.PokerApiApplication;
+
+/**
+ * Benchmark that compares the servlet and reactive stacks
+ * Starts the application once per stack on a random local port and
+ * sends single hand and batch requests from a number of concurrent
+ * clients, then prints the hands per second and latency percentiles
+ *
+ * Needs the reactive Maven profile so both stacks are on the classpath
+ * Usage: StackBenchmark [levels] [batchSize] [requestsPerClient]
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+public class StackBenchmark {
+
+    /** The concurrency levels that are tested by default */
+    private static final int[] DEFAULT_LEVELS = { 16, 256, 1_024 };
+
+    /** The number of hands in a batch request by default */
+    private static final int DEFAULT_BATCH = 1_000;
+
+    /** The number of requests each client sends by default */
+    private static final int DEFAULT_REQUESTS = 20;
+
+    /** A single hand as JSON */
+    private static final String HAND = "{\"cards\":[\"Ah\",\"Kh\",\"Qh\",\"Jh\",\"10h\",\"2c\",\"3d\"]}";
+
+    /**
+     * Runs the benchmark against both stacks
+     * @param args the concurrency levels, the batch size and the requests per client
+     * @throws Exception if the application or a client could not be started
+     */
+    public static void main(String[] args) throws Exception {
+        int[] levels = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_LEVELS;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS;
+        String batchBody = "[" + String.join(",", Collections.nCopies(batch, HAND)) + "]";
+
+        // DevTools would restart this main method in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        System.out.printf("%-9s %-9s %8s %12s %9s %9s %9s%n",
+                "stack", "endpoint", "clients", "hands/s", "p50 ms", "p99 ms", "errors");
+        for (String stack : new String[] { "servlet", "reactive" }) {
+            try (ConfigurableApplicationContext context = start(stack)) {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                URI single = URI.create("http://127.0.0.1:" + port + "/api/poker/bestHand");
+                URI batched = URI.create("http://127.0.0.1:" + port + "/api/poker/batch");
+
+                // Warm up the server before measuring
+                run(single, HAND, 64, 50);
+                run(batched, batchBody, 16, 5);
+                for (int level : levels) {
+                    print(stack, "bestHand", level, 1, run(single, HAND, level, requests));
+                    print(stack, "batch", level, batch, run(batched, batchBody, level, requests));
+                }
+            }
+        }
+
+        // The reactive Tomcat adapter can leave its await thread running after close
+        System.exit(0);
+    }
+
+    /**
+     * Starts the application on one of the stacks
+     * @param stack either servlet or reactive
+     * @return the started application
+     */
+    private static ConfigurableApplicationContext start(String stack) {
+        return new SpringApplicationBuilder(PokerApiApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.main.web-application-type=" + stack);
+    }
+
+    /**
+     * Helper method to print one line of results
+     * @param stack the stack that was measured
+     * @param endpoint the endpoint that was measured
+     * @param clients the number of concurrent clients
+     * @param hands the number of hands per request
+     * @param result the result of the run
+     */
+    private static void print(String stack, String endpoint, int clients, int hands, LoadResult result) {
+        System.out.printf("%-9s %-9s %8d %12.0f %9.2f %9.2f %9d%n", stack, endpoint, clients,
+                result.throughput() * hands, result.percentile(0.50), result.percentile(0.99), result.errors());
+    }
+
+    /**
+     * Sends the requests from a number of concurrent clients
+     * @param uri the endpoint to send the requests to
+     * @param body the body of every request
+     * @param clients the number of concurrent clients
+     * @param requests the number of requests per client
+     * @return the latencies and errors of the run
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    private static LoadResult run(URI uri, String body, int clients, int requests) throws InterruptedException {
+        long[] latencies = new long[clients * requests];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(threads)
+                        .build()) {
+            for (int c = 0; c < clients; c++) {
+                int offset = c * requests;
+                threads.execute(() -> {
+                    for (int r = 0; r < requests; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[offset + r] = System.nanoTime() - sent;
+                    }
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+        return new LoadResult(latencies, errors.get(), System.nanoTime() - start);
+    }
+}
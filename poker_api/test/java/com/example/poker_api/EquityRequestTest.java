@@ -0,0 +1,62 @@
+package com.example.poker_api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.equity.EquitySimulation;
+
+/**
+ * Class to test the checks of an equity request
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class EquityRequestTest {
+
+    /**
+     * Helper method to build a request on an empty board
+     * @param players the number of players, each dealt the next two cards of the deck
+     * @return the request
+     */
+    private static EquityRequest request(int players) {
+        List<PokerHand> hands = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            hands.add(new PokerHand(3L << 2 * i));
+        }
+        EquityRequest request = new EquityRequest();
+        request.setPlayers(hands);
+        return request;
+    }
+
+    /**
+     * Test that a player with more than two hole cards is turned away
+     */
+    @Test
+    void testRejectsThreeHoleCards() {
+        EquityRequest request = request(2);
+        request.getPlayers().set(1, new PokerHand(0x7L << 40));
+        assertThrows(IllegalArgumentException.class, request::holeCardMasks);
+    }
+
+    /**
+     * Test that the board can still be dealt with 23 players but not with 24
+     */
+    @Test
+    void testRejectsTooManyPlayers() {
+        assertEquals(23, request(23).holeCardMasks().length);
+        assertThrows(IllegalArgumentException.class, () -> request(24).holeCardMasks());
+    }
+
+    /**
+     * Test that the simulation checks the cards on its own as well
+     */
+    @Test
+    void testSimulationRejectsTooManyCards() {
+        long[] holeCards = { 0x7L, 0x38L };
+        assertThrows(IllegalArgumentException.class, () -> new EquitySimulation(0L, holeCards));
+    }
+}
@@ -6,15 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import poker_api.src.main.java.com.example.poker_api.PokerApiApplication;
-
 /**
  * Class to test the PokerApiApplication class
  * Ensures that contexts loads without issues
+ * The flop database is built in the temp directory rather than the module
  * 
  * @author Tristan Curtis (tmc3221)
  */
-@SpringBootTest(classes = PokerApiApplication.class)
+@SpringBootTest(classes = PokerApiApplication.class,
+        properties = "poker.flops.database=${java.io.tmpdir}/poker-api-test-flop-database.bin")
 class PokerApiApplicationTests {
 
 	/** Our API application for testing */
@@ -0,0 +1,48 @@
+package com.example.poker_api.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.HandCategory;
+
+/**
+ * Class to test the EvaluatorCrossCheck class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class EvaluatorCrossCheckTest {
+
+    /**
+     * Test that the fast evaluators agree with the reference on every
+     * five card hand and on random seven card hands
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    @Test
+    void testEvaluatorsAgree() throws InterruptedException {
+        EvaluatorCrossCheck check = new EvaluatorCrossCheck(EvaluatorCrossCheck.evaluators(), 2, 5);
+        assertEquals(2_598_960, check.checkAllFiveCardHands());
+        assertEquals(50_000, check.checkRandomHands(50_000, 7));
+        assertEquals(0, check.getMismatches());
+    }
+
+    /**
+     * Test that an evaluator that gets straights wrong is caught
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    @Test
+    void testDisagreementFound() throws InterruptedException {
+        int straight = HandCategory.STRAIGHT.ordinal() << BitmaskEvaluator.CATEGORY_SHIFT;
+        // Scores every straight as a six high straight
+        EvaluatorCrossCheck check = new EvaluatorCrossCheck(Map.of("broken", cards -> {
+            int strength = BitmaskEvaluator.evaluate(cards);
+            return BitmaskEvaluator.category(strength) == HandCategory.STRAIGHT ? straight | 4 << 16 : strength;
+        }), 1, 0);
+        check.checkAllFiveCardHands();
+        // Every straight but the 1,020 six high ones
+        assertEquals(10_200 - 1_020, check.getMismatches());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.poker_api.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test the HandDistribution class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class HandDistributionTest {
+
+    /**
+     * Test that every five card hand is counted once under its category
+     */
+    @Test
+    void testFiveCards() {
+        long[] expected = { 1_302_540, 1_098_240, 123_552, 54_912, 10_200, 5_108, 3_744, 624, 36, 4 };
+        assertArrayEquals(expected, new HandDistribution(5, 2).count());
+    }
+
+    /**
+     * Test that hands with too few or too many cards are rejected
+     */
+    @Test
+    void testCardsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new HandDistribution(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HandDistribution(8, 1));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.poker_api.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.DataInputStream;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.equity.EquitySimulation;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the Coordinator class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class CoordinatorTest {
+
+    /**
+     * Test that a shard left by a worker that dies is run by another worker
+     * and the merged enumeration matches one run in a single process
+     * @throws Exception if the job fails
+     */
+    @Test
+    void testReassignsShardOfDeadWorker() throws Exception {
+        long board = Cards.parseAll(List.of("2c", "7d", "Jh"));
+        long[] holeCards = { Cards.parseAll(List.of("Ah", "Kh")), Cards.parseAll(List.of("Qc", "Qd")) };
+        List<Shard> shards = Coordinator.enumerationShards(board, holeCards, 8);
+
+        try (Coordinator coordinator = new Coordinator(0, 0)) {
+            CompletableFuture<ShardResult> job = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return coordinator.execute(shards);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // A worker that takes a shard and dies before answering
+            try (Socket dying = new Socket("127.0.0.1", coordinator.getPort())) {
+                Shard.read(new DataInputStream(dying.getInputStream()));
+            }
+            Thread.ofPlatform().daemon(true).start(() -> {
+                try {
+                    new Worker("127.0.0.1", coordinator.getPort()).serve();
+                } catch (Exception e) {
+                    // The coordinator closes the connection once the test is over
+                }
+            });
+
+            ShardResult result = job.get(30, TimeUnit.SECONDS);
+            EquitySimulation single = new EquitySimulation(board, holeCards);
+            single.enumerate(0, single.getRunouts());
+
+            assertEquals(1, coordinator.getReassigned());
+            assertEquals(single.getTrials(), result.getTrials());
+            for (int p = 0; p < holeCards.length; p++) {
+                assertEquals(single.getWins(p), result.getWins(p));
+                assertEquals(single.getTies(p), result.getTies(p));
+                assertEquals(single.getEquity(p), result.getEquity(p), 1e-12);
+            }
+        }
+    }
+}
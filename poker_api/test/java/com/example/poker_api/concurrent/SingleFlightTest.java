@@ -0,0 +1,76 @@
+package com.example.poker_api.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test the SingleFlight class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class SingleFlightTest {
+
+    /**
+     * Test that callers for the same key share one computation
+     * while a different key runs on its own
+     * @throws Exception if a thread is interrupted
+     */
+    @Test
+    void testShared() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread first = Thread.ofPlatform().start(() -> flight.execute("a", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }));
+        started.await();
+
+        // Another key does not wait for the running one
+        SingleFlight.Result<Integer> other = flight.execute("b", () -> 2);
+        assertEquals(2, other.getValue());
+        assertFalse(other.isShared());
+
+        AtomicReference<SingleFlight.Result<Integer>> joined = new AtomicReference<>();
+        Thread second = Thread.ofPlatform().start(() -> joined.set(flight.execute("a", () -> runs.incrementAndGet())));
+        while (second.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, joined.get().getValue());
+        assertTrue(joined.get().isShared());
+        assertEquals(0, flight.size());
+    }
+
+    /**
+     * Test that a failed computation is rethrown and then forgotten
+     */
+    @Test
+    void testFailure() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        assertThrows(IllegalStateException.class, () -> flight.execute("a", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals(3, flight.execute("a", () -> 3).getValue());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.poker_api.equity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the states of an equity job
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class EquityJobTest {
+
+    /** Aces against kings on an empty board */
+    private static final long[] HOLES = {
+        1L << Cards.parse("Ac") | 1L << Cards.parse("Ad"),
+        1L << Cards.parse("Kc") | 1L << Cards.parse("Kd")
+    };
+
+    /**
+     * Helper method to build a job
+     * @return a job that deals a few batches
+     */
+    private static EquityJob job() {
+        return new EquityJob("test", new EquitySimulation(0, HOLES), StopRule.fixed(3 * EquityJob.BATCH_SIZE));
+    }
+
+    /**
+     * Test that a job cancelled while queued stays cancelled when it is run
+     */
+    @Test
+    void testCancelledWhileQueued() {
+        EquityJob job = job();
+        job.cancel();
+        assertEquals(EquityJob.Status.CANCELLED, job.getStatus());
+        job.run();
+        assertEquals(EquityJob.Status.CANCELLED, job.getStatus());
+        assertEquals(0, job.getEstimate().getIterations());
+    }
+
+    /**
+     * Test that a job that is run to the end is done
+     */
+    @Test
+    void testRunsToDone() {
+        EquityJob job = job();
+        job.run();
+        assertEquals(EquityJob.Status.DONE, job.getStatus());
+        assertEquals(3 * EquityJob.BATCH_SIZE, job.getEstimate().getIterations());
+        assertNull(job.getError());
+    }
+}
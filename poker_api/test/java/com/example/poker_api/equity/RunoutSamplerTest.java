@@ -0,0 +1,68 @@
+package com.example.poker_api.equity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the runout samplers of an equity simulation
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class RunoutSamplerTest {
+
+    /** A turn board, leaving 44 rivers */
+    private static final long BOARD = Cards.parseAll(List.of("2c", "7d", "Jh", "Qs"));
+
+    /** Queens against ace king, which needs one of the tens, aces or kings */
+    private static final long[] HOLES = { Cards.parseAll(List.of("Qc", "Qd")), Cards.parseAll(List.of("Ah", "Kh")) };
+
+    /**
+     * Test that dealing from a point puts the cards back in their order
+     */
+    @Test
+    void testDealRestoresOrder() {
+        int[] cards = { 0, 1, 2, 3, 4, 5, 6, 7 };
+        long runout = RunoutSampler.deal(new double[] { 0.99, 0.0, 0.5 }, cards, 1, 3, new int[3]);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }, cards);
+        assertEquals(3, Long.bitCount(runout));
+        assertEquals(0, runout & 1);
+    }
+
+    /**
+     * Test that one stratified unit on the turn deals every river and is exact
+     */
+    @Test
+    void testStratifiedTurnIsExact() {
+        EquitySimulation exact = new EquitySimulation(BOARD, HOLES, SamplerType.STRATIFIED);
+        exact.run(1, new SplittableRandom(1));
+        assertEquals(44, exact.getTrials());
+
+        double behind = exact.getEquity(1);
+        assertEquals(1.0, exact.getEquity(0) + behind, 1e-12);
+        assertEquals(exact.getTrials(), exact.getEffectiveSamples());
+    }
+
+    /**
+     * Test that every sampler agrees with the exact equity within its error
+     */
+    @Test
+    void testSamplersAgree() {
+        EquitySimulation exact = new EquitySimulation(BOARD, HOLES, SamplerType.STRATIFIED);
+        exact.run(1, new SplittableRandom(1));
+        for (SamplerType type : SamplerType.values()) {
+            EquitySimulation simulation = new EquitySimulation(BOARD, HOLES, type);
+            simulation.run(20_000, new SplittableRandom(7));
+            double error = Math.max(simulation.getStandardError(0), 1e-9);
+            assertTrue(Math.abs(simulation.getEquity(0) - exact.getEquity(0)) < 5 * error + 1e-9, type.name());
+            assertTrue(simulation.getEffectiveSamples() > 0, type.name());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.poker_api.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test the BitmaskEvaluator class
+ * Checks the category, description and ordering of hands
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class BitmaskEvaluatorTest {
+
+    /**
+     * Helper method to evaluate the text of some cards
+     * @param cards the text of the cards
+     * @return the strength of the cards
+     */
+    private static int strength(String... cards) {
+        return BitmaskEvaluator.evaluate(Cards.parseAll(List.of(cards)));
+    }
+
+    /**
+     * Test that every category is found in seven cards
+     */
+    @Test
+    void testCategories() {
+        assertEquals(HandCategory.ROYAL_FLUSH, BitmaskEvaluator.category(strength("Ah", "Kh", "Qh", "Jh", "10h", "2c", "3d")));
+        assertEquals(HandCategory.STRAIGHT_FLUSH, BitmaskEvaluator.category(strength("Ac", "2c", "3c", "4c", "5c", "Kd", "Kh")));
+        assertEquals(HandCategory.FOUR_OF_A_KIND, BitmaskEvaluator.category(strength("9c", "9d", "9h", "9s", "Ac", "Ad", "Ah")));
+        assertEquals(HandCategory.FULL_HOUSE, BitmaskEvaluator.category(strength("9c", "9d", "9h", "Ks", "Kc", "2d", "3h")));
+        assertEquals(HandCategory.FLUSH, BitmaskEvaluator.category(strength("2s", "5s", "9s", "Js", "Ks", "Kc", "Kd")));
+        assertEquals(HandCategory.STRAIGHT, BitmaskEvaluator.category(strength("Ad", "2c", "3h", "4s", "5c", "Kd", "Qh")));
+        assertEquals(HandCategory.THREE_OF_A_KIND, BitmaskEvaluator.category(strength("7c", "7d", "7h", "2s", "9c", "Jd", "Kh")));
+        assertEquals(HandCategory.TWO_PAIR, BitmaskEvaluator.category(strength("7c", "7d", "Jh", "Js", "9c", "9d", "Kh")));
+        assertEquals(HandCategory.PAIR, BitmaskEvaluator.category(strength("7c", "7d", "2h", "4s", "9c", "Jd", "Kh")));
+        assertEquals(HandCategory.HIGH_CARD, BitmaskEvaluator.category(strength("7c", "8d", "2h", "4s", "10c", "Jd", "Kh")));
+    }
+
+    /**
+     * Test the descriptions use the original wording
+     */
+    @Test
+    void testDescribe() {
+        assertEquals("Royal Flush", BitmaskEvaluator.describe(Cards.parseAll(List.of("Ah", "Kh", "Qh", "Jh", "10h"))));
+        assertEquals("Straight Flush: 5 high of c",
+                BitmaskEvaluator.describe(Cards.parseAll(List.of("Ac", "2c", "3c", "4c", "5c"))));
+        assertEquals("Full House: 9 full of K",
+                BitmaskEvaluator.describe(Cards.parseAll(List.of("9c", "9d", "9h", "Ks", "Kc"))));
+        assertEquals("Two Pair: J and 9",
+                BitmaskEvaluator.describe(Cards.parseAll(List.of("7c", "7d", "Jh", "Js", "9c", "9d", "Kh"))));
+        assertEquals("Straight: 10 high",
+                BitmaskEvaluator.describe(Cards.parseAll(List.of("6c", "7d", "8h", "9s", "10c"))));
+        assertEquals("Pair of two: K", BitmaskEvaluator.describe(Cards.parseAll(List.of("Kc", "Kd"))));
+    }
+
+    /**
+     * Test that kickers break ties between hands of the same category
+     */
+    @Test
+    void testKickers() {
+        assertTrue(strength("Ac", "Ad", "Kh", "4s", "3c") > strength("Ac", "Ad", "Qh", "Js", "10c"));
+        assertTrue(strength("6c", "7d", "8h", "9s", "10c") > strength("Ac", "2d", "3h", "4s", "5c"));
+        assertTrue(strength("Kc", "Kd", "Kh", "2s", "2c") > strength("Qc", "Qd", "Qh", "As", "Ac"));
+        assertEquals(strength("Ac", "Ad", "Kh", "Qs", "Jc", "2d", "3h"), strength("As", "Ah", "Kd", "Qc", "Js", "4c", "5h"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.poker_api.eval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test the HandRank class and the cards used by a best hand
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class HandRankTest {
+
+    /**
+     * Test the weakest and strongest ranks and that ranks follow strengths
+     */
+    @Test
+    void testOrdinal() {
+        assertEquals(1,
+                HandRank.ordinal(BitmaskEvaluator.evaluate(Cards.parseAll(List.of("7c", "5d", "4h", "3s", "2c")))));
+        assertEquals(HandRank.DISTINCT_HANDS,
+                HandRank.ordinal(BitmaskEvaluator.evaluate(Cards.parseAll(List.of("Ah", "Kh", "Qh", "Jh", "10h")))));
+        // There are 1277 high card hands below the weakest pair
+        assertEquals(1277,
+                HandRank.ordinal(BitmaskEvaluator.evaluate(Cards.parseAll(List.of("Ac", "Kd", "Qh", "Js", "9c")))));
+        assertEquals(1278,
+                HandRank.ordinal(BitmaskEvaluator.evaluate(Cards.parseAll(List.of("2c", "2d", "5h", "4s", "3c")))));
+    }
+
+    /**
+     * Test that the best five cards of seven make the same strength
+     */
+    @Test
+    void testUsedCards() {
+        SplittableRandom random = new SplittableRandom(36);
+        for (int hand = 0; hand < 10000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 7) {
+                cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+            }
+            int strength = BitmaskEvaluator.evaluate(cards);
+            long used = BitmaskEvaluator.usedCards(cards, strength);
+            assertEquals(5, Long.bitCount(used));
+            assertTrue((used & ~cards) == 0);
+            assertEquals(strength, BitmaskEvaluator.evaluate(used));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.poker_api.eval;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Class to test the Outs class
+ * Checks the outs against evaluating the hand with every unseen card
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class OutsTest {
+
+    /**
+     * Test that the outs match adding each unseen card and evaluating
+     */
+    @Test
+    void testImproving() {
+        SplittableRandom random = new SplittableRandom(34);
+        for (int hand = 0; hand < 5000; hand++) {
+            long cards = 0;
+            int size = 2 + random.nextInt(5);
+            while (Long.bitCount(cards) < size) {
+                cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+            }
+            HandCategory current = BitmaskEvaluator.category(BitmaskEvaluator.evaluate(cards));
+            int[] expected = new int[HandCategory.values().length];
+            long expectedOuts = 0;
+            for (int code = 0; code < Cards.DECK_SIZE; code++) {
+                long card = 1L << code;
+                HandCategory next = BitmaskEvaluator.category(BitmaskEvaluator.evaluate(cards | card));
+                if ((cards & card) == 0 && next.compareTo(current) > 0) {
+                    expected[next.ordinal()]++;
+                    expectedOuts |= card;
+                }
+            }
+            int[] counts = new int[HandCategory.values().length];
+            assertEquals(expectedOuts, Outs.improving(cards, counts));
+            assertArrayEquals(expected, counts);
+        }
+    }
+}
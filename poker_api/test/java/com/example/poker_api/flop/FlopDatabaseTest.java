@@ -0,0 +1,72 @@
+package com.example.poker_api.flop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.HandCategory;
+
+/**
+ * Class to test the FlopDatabase class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class FlopDatabaseTest {
+
+    /**
+     * Test that the flops come down to 1,755 that cover all 22,100 flops
+     * and every pair of hole cards is counted once on each
+     */
+    @Test
+    void testBuild() {
+        TreeMap<Long, FlopStats> stats = FlopDatabase.build();
+        assertEquals(FlopDatabase.FLOPS, stats.size());
+        assertEquals(22_100, stats.values().stream().mapToInt(FlopStats::getWeight).sum());
+        for (FlopStats flop : stats.values()) {
+            int combos = 0;
+            for (HandCategory category : HandCategory.values()) {
+                combos += flop.getCategoryCount(category);
+            }
+            assertEquals(1_176, combos);
+        }
+    }
+
+    /**
+     * Test that flops that only differ by their suits are looked up as the same record
+     * @param dir a temporary directory for the database file
+     */
+    @Test
+    void testLookup(@TempDir Path dir) {
+        FlopDatabase database = new FlopDatabase(dir.resolve("flops.bin"));
+
+        FlopStats royal = database.lookup(Cards.parseAll(List.of("Ah", "Kh", "Qh")));
+        assertEquals(royal.getCanonical(), database.lookup(Cards.parseAll(List.of("As", "Ks", "Qs"))).getCanonical());
+        assertEquals(HandCategory.ROYAL_FLUSH, BitmaskEvaluator.category(royal.getNutStrength()));
+        assertEquals(1, royal.getNutCombos());
+        assertEquals(1, royal.getSuits());
+        assertTrue(royal.isStraightPossible());
+
+        FlopStats paired = database.lookup(Cards.parseAll(List.of("2c", "2d", "7s")));
+        assertEquals(paired.getCanonical(), database.lookup(Cards.parseAll(List.of("2h", "2s", "7d"))).getCanonical());
+        assertEquals(2, paired.getRanks());
+        assertFalse(paired.isStraightPossible());
+
+        // A second database reads the file the first one built
+        FlopDatabase reopened = new FlopDatabase(dir.resolve("flops.bin"));
+        assertEquals(paired.getWeight(), reopened.lookup(Cards.parseAll(List.of("2c", "2d", "7s"))).getWeight());
+
+        // The file is unmapped once the database is closed
+        reopened.close();
+        assertThrows(IllegalStateException.class, () -> reopened.lookup(Cards.parseAll(List.of("2c", "2d", "7s"))));
+    }
+}
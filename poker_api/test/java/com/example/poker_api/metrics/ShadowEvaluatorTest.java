@@ -0,0 +1,68 @@
+package com.example.poker_api.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.example.poker_api.eval.EvaluatorType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Class to test the ShadowEvaluator class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class ShadowEvaluatorTest {
+
+    /**
+     * Test that every sampled hand is compared and the primary result is used
+     */
+    @Test
+    void testShadowAgrees() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ShadowEvaluator evaluator = new ShadowEvaluator(EvaluatorType.LOOKUP_TABLE, EvaluatorType.REFERENCE, 1,
+                new PokerMetrics(registry));
+        SplittableRandom random = new SplittableRandom(49);
+        for (int hand = 0; hand < 1000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 7) {
+                cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+            }
+            assertEquals(BitmaskEvaluator.evaluate(cards), evaluator.evaluate(cards));
+        }
+        assertEquals(0, evaluator.getDisagreements());
+        assertEquals(1000, registry.get(PokerMetrics.SHADOW_COMPARISONS).tag("result", "agree").counter().count());
+        assertEquals(1000, registry.get(PokerMetrics.EVALUATOR_TIMER).tag("engine", "reference").timer().count());
+    }
+
+    /**
+     * Test that nothing is recorded when no hands are sampled
+     */
+    @Test
+    void testNoSampling() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ShadowEvaluator evaluator = new ShadowEvaluator(EvaluatorType.BITMASK, EvaluatorType.LOOKUP_TABLE, 0,
+                new PokerMetrics(registry));
+        evaluator.evaluate(0x1FL);
+        assertNull(registry.find(PokerMetrics.SHADOW_COMPARISONS).counter());
+    }
+
+    /**
+     * Test that engines are found by the names used in the properties
+     */
+    @Test
+    void testEngineNames() {
+        assertEquals(EvaluatorType.LOOKUP_TABLE, EvaluatorType.fromName("lookup-table"));
+        assertEquals(EvaluatorType.BITMASK, EvaluatorType.fromName(" Bitmask "));
+        assertThrows(IllegalArgumentException.class, () -> EvaluatorType.fromName("naive"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShadowEvaluator(EvaluatorType.BITMASK, EvaluatorType.REFERENCE, 2, null));
+    }
+}
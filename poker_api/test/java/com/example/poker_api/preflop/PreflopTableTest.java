@@ -0,0 +1,72 @@
+package com.example.poker_api.preflop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the preflop table and the classes of starting hands
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class PreflopTableTest {
+
+    /**
+     * Test that every class parses back from its name and its representative combo
+     */
+    @Test
+    void testStartingHands() {
+        for (int index = 0; index < StartingHands.CLASSES; index++) {
+            assertEquals(index, StartingHands.parse(StartingHands.name(index)));
+            assertEquals(index, StartingHands.index(StartingHands.representative(index)));
+        }
+        assertEquals(StartingHands.parse("AKs"), StartingHands.parse("KhAh"));
+        assertEquals(StartingHands.parse("AKo"), StartingHands.parse("AhKd"));
+        assertThrows(IllegalArgumentException.class, () -> StartingHands.parse("AKx"));
+        assertThrows(IllegalArgumentException.class, () -> StartingHands.parse("QQs"));
+    }
+
+    /**
+     * Test that a table written by the generator is read back from the mapped file
+     * @param dir a temporary directory for the table file
+     * @throws Exception if the table could not be written
+     */
+    @Test
+    void testWriteAndLookUp(@TempDir Path dir) throws Exception {
+        int classes = StartingHands.CLASSES;
+        double[] win = new double[classes * classes];
+        double[] tie = new double[classes * classes];
+        int aces = StartingHands.parse("AA");
+        int kings = StartingHands.parse("KK");
+        win[aces * classes + kings] = 0.8;
+        tie[aces * classes + kings] = 0.04;
+        Path file = dir.resolve("preflop.bin");
+        PreflopTableGenerator.write(file, win, tie);
+
+        PreflopTable table = new PreflopTable(file);
+        assertTrue(table.isLoaded());
+        assertEquals(0.82, table.equity(aces, kings), 1e-6);
+        assertEquals(0, table.equity(kings, aces), 1e-6);
+        assertFalse(new PreflopTable(dir.resolve("missing.bin")).isLoaded());
+    }
+
+    /**
+     * Test one matchup dealt over every board against its known equity
+     */
+    @Test
+    void testMatchup() {
+        long aces = 1L << Cards.parse("Ac") | 1L << Cards.parse("Ad");
+        long kings = 1L << Cards.parse("Kh") | 1L << Cards.parse("Ks");
+        long[] counts = PreflopTableGenerator.matchup(aces, kings);
+        double equity = (counts[0] + counts[1] / 2.0) / 1_712_304;
+        assertEquals(0.8125, equity, 0.001);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.poker_api.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.BestHandResponse;
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Class to test the EncodedResults class
+ * Checks the encoded JSON against serializing a BestHandResponse
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class EncodedResultsTest {
+
+    /**
+     * Test that the encoded JSON matches Jackson for five to seven cards
+     * @throws Exception if a response could not be serialized
+     */
+    @Test
+    void testMatchesJackson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SplittableRandom random = new SplittableRandom(37);
+        for (int hand = 0; hand < 20000; hand++) {
+            long cards = 0;
+            int size = 5 + random.nextInt(3);
+            while (Long.bitCount(cards) < size) {
+                cards |= 1L << random.nextInt(Cards.DECK_SIZE);
+            }
+            int strength = BitmaskEvaluator.evaluate(cards);
+            byte[] json = EncodedResults.encode(strength, BitmaskEvaluator.usedCards(cards, strength),
+                    BitmaskEvaluator.flushSuit(cards));
+            assertEquals(mapper.writeValueAsString(new BestHandResponse(cards, strength)),
+                    new String(json, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Test that results of fewer than five cards are not encoded
+     */
+    @Test
+    void testShortHands() {
+        long cards = 1L << Cards.parse("Ah") | 1L << Cards.parse("Kh");
+        int strength = BitmaskEvaluator.evaluate(cards);
+        assertNull(EncodedResults.encode(strength, cards, -1));
+    }
+}
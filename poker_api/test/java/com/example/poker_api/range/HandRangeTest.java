@@ -0,0 +1,74 @@
+package com.example.poker_api.range;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the HandRange class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class HandRangeTest {
+
+    /**
+     * Test that each kind of notation parses to the right number of combos
+     */
+    @Test
+    void testParse() {
+        assertEquals(18, HandRange.parse("QQ+").size());
+        assertEquals(24, HandRange.parse("22-55").size());
+        assertEquals(4, HandRange.parse("AKs").size());
+        assertEquals(12, HandRange.parse("AKo").size());
+        assertEquals(16, HandRange.parse("AK").size());
+        assertEquals(16, HandRange.parse("ATs+").size());
+        assertEquals(16, HandRange.parse("A2s-A5s").size());
+        assertEquals(20, HandRange.parse("T9s-65s").size());
+        assertEquals(1, HandRange.parse("AhKh").size());
+        assertEquals(34, HandRange.parse("QQ+, AK, AhKh").size());
+        assertEquals(HandRange.COMBOS, HandRange.full().size());
+        assertEquals(HandRange.parse("QQ+"), HandRange.parse("AA, KK, QQ"));
+
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AKx"));
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("T9s-64s"));
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AhAh"));
+    }
+
+    /**
+     * Test union, intersection, difference and blocker removal
+     */
+    @Test
+    void testSetAlgebra() {
+        HandRange premiums = HandRange.parse("QQ+, AKs");
+        HandRange aces = HandRange.parse("AA, AK");
+
+        assertEquals(34, premiums.union(aces).size());
+        assertEquals(10, premiums.intersect(aces).size());
+        assertEquals(12, premiums.minus(aces).size());
+        assertTrue(premiums.minus(premiums).isEmpty());
+
+        // The ace of hearts blocks three AA combos and one AKs combo
+        HandRange blocked = premiums.without(1L << Cards.parse("Ah"));
+        assertEquals(18, blocked.size());
+        assertFalse(blocked.contains(HandRange.index(1L << Cards.parse("Ah") | 1L << Cards.parse("Kh"))));
+        for (long combo : blocked.combos()) {
+            assertEquals(0, combo & 1L << Cards.parse("Ah"));
+        }
+    }
+
+    /**
+     * Test that the notation of a range parses back to the same range
+     */
+    @Test
+    void testToString() {
+        assertEquals("AA, KK, AKs", HandRange.parse("KK+, AKs").toString());
+        assertEquals("AK, AhQd", HandRange.parse("AK, AhQd").toString());
+        HandRange range = HandRange.parse("22+, A2s+, KTo+, T9s-65s").without(1L << Cards.parse("9c"));
+        assertEquals(range, HandRange.parse(range.toString()));
+    }
+}
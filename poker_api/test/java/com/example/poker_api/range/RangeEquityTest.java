@@ -0,0 +1,80 @@
+package com.example.poker_api.range;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the RangeEquity class
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class RangeEquityTest {
+
+    /**
+     * Test that the sorted counts match evaluating every matchup on its own,
+     * with ranges that overlap and share cards
+     */
+    @Test
+    void testMatchesEveryMatchup() {
+        long board = 1L << Cards.parse("Kd") | 1L << Cards.parse("9s") | 1L << Cards.parse("4h")
+                | 1L << Cards.parse("2c");
+        HandRange hero = HandRange.parse("QQ+, AK, 98s");
+        HandRange villain = HandRange.parse("TT+, AQs+, K9s");
+        RangeEquity equity = new RangeEquity(board, hero, villain, 0, new SplittableRandom(1));
+        assertTrue(equity.isExhaustive());
+
+        long wins = 0;
+        long ties = 0;
+        long losses = 0;
+        for (long rest = Cards.DECK & ~board; rest != 0; rest &= rest - 1) {
+            long fullBoard = board | Long.lowestOneBit(rest);
+            for (long a : hero.without(fullBoard).combos()) {
+                for (long b : villain.without(fullBoard | a).combos()) {
+                    int compare = Integer.compare(BitmaskEvaluator.evaluate(fullBoard | a),
+                            BitmaskEvaluator.evaluate(fullBoard | b));
+                    if (compare > 0) {
+                        wins++;
+                    } else if (compare == 0) {
+                        ties++;
+                    } else {
+                        losses++;
+                    }
+                }
+            }
+        }
+        assertEquals(wins + ties + losses, equity.getMatchups(0, -1));
+        assertEquals(wins + ties + losses, equity.getMatchups(1, -1));
+        assertEquals(wins, equity.getWins(0, -1));
+        assertEquals(losses, equity.getWins(1, -1));
+        assertEquals(ties, equity.getTies(0, -1));
+        assertEquals(1.0, equity.getEquity(0, -1) + equity.getEquity(1, -1), 1e-12);
+    }
+
+    /**
+     * Test that a preflop matchup is sampled and lands near its known equity
+     */
+    @Test
+    void testSamplesPreflop() {
+        RangeEquity equity = new RangeEquity(0, HandRange.parse("AA"), HandRange.parse("KK"), 20_000,
+                new SplittableRandom(7));
+        assertEquals(20_000, equity.getRunouts());
+        assertEquals(0.82, equity.getEquity(0, -1), 0.01);
+    }
+
+    /**
+     * Test that too many runouts of two wide ranges are turned away before any are dealt
+     */
+    @Test
+    void testRejectsTooMuchWork() {
+        assertThrows(IllegalArgumentException.class, () -> new RangeEquity(0, HandRange.full(), HandRange.full(),
+                100_000, new SplittableRandom(7)));
+    }
+}
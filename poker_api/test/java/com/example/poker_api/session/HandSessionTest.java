@@ -0,0 +1,55 @@
+package com.example.poker_api.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.poker_api.eval.BitmaskEvaluator;
+import com.example.poker_api.eval.Cards;
+
+/**
+ * Class to test the HandSession class
+ * Checks that adding cards street by street gives the same
+ * result as evaluating the whole hand
+ *
+ * @author Tristan Curtis (tmc3221)
+ */
+class HandSessionTest {
+
+    /**
+     * Test that every street matches a full evaluation of the cards so far
+     */
+    @Test
+    void testStreets() {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] streets = { 5, 1, 1 };
+        for (int hand = 0; hand < 10000; hand++) {
+            HandSession session = new HandSession("test");
+            long cards = 0;
+            for (int street : streets) {
+                long added = 0;
+                while (Long.bitCount(added) < street) {
+                    added |= 1L << random.nextInt(Cards.DECK_SIZE) & ~cards;
+                }
+                cards |= added;
+                assertEquals(BitmaskEvaluator.evaluate(cards), session.add(added));
+                assertEquals(BitmaskEvaluator.describe(cards), session.describe());
+            }
+        }
+    }
+
+    /**
+     * Test that repeated cards and an eighth card are rejected
+     */
+    @Test
+    void testInvalidCards() {
+        HandSession session = new HandSession("test");
+        session.add(1L << Cards.parse("Ah") | 1L << Cards.parse("Kh"));
+        assertThrows(IllegalArgumentException.class, () -> session.add(1L << Cards.parse("Ah")));
+        session.add(0x1FL << 20);
+        assertThrows(IllegalArgumentException.class, () -> session.add(1L << Cards.parse("2c")));
+    }
+}